@@ -0,0 +1,69 @@
+package com.intern.orderservice.actuator;
+
+import com.intern.orderservice.service.helper.AdaptiveConcurrencyLimiter;
+import com.intern.orderservice.service.helper.RequestHedger;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/userservice}: resilience state of the UserService client, next to the
+ * resilience4j {@code /actuator/circuitbreakers} endpoint.
+ */
+@Component
+@Endpoint(id = "userservice")
+public class UserServiceEndpoint {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RequestHedger requestHedger;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public UserServiceEndpoint(CircuitBreakerRegistry circuitBreakerRegistry,
+                               RequestHedger requestHedger,
+                               AdaptiveConcurrencyLimiter concurrencyLimiter,
+                               MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.requestHedger = requestHedger;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Object> userService() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("circuitBreakerState", circuitBreakerRegistry.circuitBreaker("UserService").getState());
+        details.put("limiter", limiter());
+        details.put("hedging", hedging());
+        return details;
+    }
+
+    private Map<String, Object> limiter() {
+        Map<String, Object> limiter = new LinkedHashMap<>();
+        limiter.put("enabled", concurrencyLimiter.isEnabled());
+        limiter.put("limit", concurrencyLimiter.getLimit());
+        limiter.put("inFlight", concurrencyLimiter.getInFlight());
+        limiter.put("rejected", concurrencyLimiter.getRejected());
+        return limiter;
+    }
+
+    private Map<String, Object> hedging() {
+        Map<String, Object> hedging = new LinkedHashMap<>();
+        hedging.put("enabled", requestHedger.isEnabled());
+        hedging.put("delayMs", requestHedger.hedgeDelay().toMillis());
+        hedging.put("availableBudget", requestHedger.availableBudget());
+        hedging.put("hedges", count(RequestHedger.HEDGES_METRIC));
+        hedging.put("wins", count(RequestHedger.WINS_METRIC));
+        hedging.put("budgetExhausted", count(RequestHedger.BUDGET_EXHAUSTED_METRIC));
+        return hedging;
+    }
+
+    private double count(String metric) {
+        return meterRegistry.get(metric).counter().count();
+    }
+}
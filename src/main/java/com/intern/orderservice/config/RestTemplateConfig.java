@@ -1,20 +1,81 @@
 package com.intern.orderservice.config;
 
-import jakarta.servlet.http.HttpServletRequest;
+import com.intern.orderservice.service.AuthorizationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
+
+    public static final String USERSERVICE_POOL = "userservice";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager userServiceConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${userservice.http.max-connections}") int maxConnections,
+            @Value("${userservice.http.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${userservice.http.connect-timeout}") Duration connectTimeout,
+            @Value("${userservice.http.read-timeout}") Duration readTimeout
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(1))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, USERSERVICE_POOL).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient userServiceHttpClient(
+            PoolingHttpClientConnectionManager userServiceConnectionManager,
+            @Value("${userservice.http.read-timeout}") Duration readTimeout,
+            @Value("${userservice.http.pool-acquire-timeout}") Duration poolAcquireTimeout,
+            @Value("${userservice.http.keep-alive}") Duration keepAlive
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(userServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
     @Bean
-    public RestTemplate jwtPropagatingRestTemplate(HttpServletRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
+    public RestTemplate jwtPropagatingRestTemplate(CloseableHttpClient userServiceHttpClient,
+                                                   AuthorizationService authorizationService) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(userServiceHttpClient));
 
+        // token is taken from the SecurityContext rather than the servlet request,
+        // so calls made from worker threads (see UserFanOutHelper) are authorized too
         restTemplate.getInterceptors().add((httpRequest, body, execution) -> {
-            String authHeader = request.getHeader("Authorization");
-            if (authHeader != null) {
-                httpRequest.getHeaders().add("Authorization", authHeader);
+            String token = authorizationService.getTokenValue();
+            if (token != null) {
+                httpRequest.getHeaders().setBearerAuth(token);
             }
             return execution.execute(httpRequest, body);
         });
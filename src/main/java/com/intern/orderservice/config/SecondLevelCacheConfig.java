@@ -0,0 +1,70 @@
+package com.intern.orderservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate query cache, kept in Caffeine through JCache. No entity is cached: reads
+ * select projections and never load entities. Hibernate is handed this cache manager and fails to start
+ * on a region that is not created here.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            MeterRegistry meterRegistry,
+            @Value("${orders.second-level-cache.query.maximum-size}") long queryMaximumSize,
+            @Value("${orders.second-level-cache.query.ttl}") Duration queryTtl
+    ) {
+        // one manager per application context, a test run starts several
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("orderservice-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, meterRegistry, QUERY_RESULTS_REGION,
+                OptionalLong.of(queryMaximumSize), OptionalLong.of(queryTtl.toNanos()));
+        // must be neither bounded nor expired, or cached query results could outlive a change to their tables
+        createRegion(cacheManager, meterRegistry, UPDATE_TIMESTAMPS_REGION, OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry, String region,
+                                     OptionalLong maximumSize, OptionalLong expireAfterWriteNanos) {
+        // Hibernate caches disassembled state, which needs no copying
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setStatisticsEnabled(true)
+                .setMaximumSize(maximumSize)
+                .setExpireAfterWrite(expireAfterWriteNanos);
+        Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
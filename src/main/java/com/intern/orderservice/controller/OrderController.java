@@ -1,8 +1,14 @@
 package com.intern.orderservice.controller;
 
 
+import com.intern.orderservice.dto.request.BulkCreateOrderRequest;
+import com.intern.orderservice.dto.request.BulkUpdateOrderStatusRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.BulkCreateOrderResponse;
+import com.intern.orderservice.dto.response.BulkUpdateOrderStatusResponse;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.model.enums.OrderStatus;
 import com.intern.orderservice.service.OrderServiceAuthorizationDecorator;
@@ -32,13 +38,26 @@ public class OrderController {
     }
 
     @GetMapping("/batch")
-    public ResponseEntity<List<OrderUserResponse>> getOrdersByIds(@RequestParam List<Long> ids) {
-        return ResponseEntity.ok(orderService.getOrdersByIds(ids));
+    public ResponseEntity<CursorPageResponse<OrderUserResponse>> getOrdersByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getOrdersByIds(ids, new CursorPageRequest(cursor, size)));
     }
 
     @GetMapping("/status")
-    public ResponseEntity<List<OrderUserResponse>> getOrdersByStatuses(@RequestParam List<OrderStatus> statuses) {
-        return ResponseEntity.ok(orderService.getOrdersByStatuses(statuses));
+    public ResponseEntity<CursorPageResponse<OrderUserResponse>> getOrdersByStatuses(
+            @RequestParam List<OrderStatus> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getOrdersByStatuses(statuses, new CursorPageRequest(cursor, size)));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<CursorPageResponse<OrderUserResponse>> getCurrentUserOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getCurrentUserOrders(new CursorPageRequest(cursor, size)));
     }
 
     @PostMapping
@@ -46,6 +65,11 @@ public class OrderController {
         return ResponseEntity.ok(orderService.createOrder(request));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateOrderResponse> createOrders(@RequestBody @Valid BulkCreateOrderRequest request) {
+        return ResponseEntity.ok(orderService.createOrders(request));
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<OrderUserResponse> updateOrderStatusById(
             @PathVariable Long id,
@@ -53,6 +77,13 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderStatusById(id, request));
     }
 
+    @PutMapping("/bulk/status")
+    public ResponseEntity<BulkUpdateOrderStatusResponse> updateOrdersStatus(
+            @RequestBody @Valid BulkUpdateOrderStatusRequest request,
+            @RequestParam(defaultValue = "false") boolean includeOrders) {
+        return ResponseEntity.ok(orderService.updateOrdersStatus(request, includeOrders));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrderById(@PathVariable Long id) {
         orderService.deleteOrderById(id);
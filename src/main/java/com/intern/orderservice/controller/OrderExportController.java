@@ -0,0 +1,30 @@
+package com.intern.orderservice.controller;
+
+import com.intern.orderservice.model.enums.OrderStatus;
+import com.intern.orderservice.service.OrderExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/orders/export")
+public class OrderExportController {
+
+    private final OrderExportService orderExportService;
+
+    @Autowired
+    public OrderExportController(OrderExportService orderExportService) {
+        this.orderExportService = orderExportService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrdersByStatuses(@RequestParam List<OrderStatus> statuses) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> orderExportService.exportOrdersByStatuses(statuses, out));
+    }
+}
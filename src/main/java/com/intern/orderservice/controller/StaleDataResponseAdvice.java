@@ -0,0 +1,40 @@
+package com.intern.orderservice.controller;
+
+import com.intern.orderservice.service.helper.LastKnownUserStore;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@value #STALE_HEADER} to responses containing user data served from the last-known-good store.
+ */
+@RestControllerAdvice
+public class StaleDataResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Data-Stale";
+
+    private final LastKnownUserStore lastKnownUserStore;
+
+    public StaleDataResponseAdvice(LastKnownUserStore lastKnownUserStore) {
+        this.lastKnownUserStore = lastKnownUserStore;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (lastKnownUserStore.isResponseStale()) {
+            response.getHeaders().set(STALE_HEADER, "true");
+        }
+        return body;
+    }
+}
@@ -0,0 +1,24 @@
+package com.intern.orderservice.controller;
+
+import com.intern.orderservice.service.UserCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserCacheController {
+
+    private final UserCacheService userCacheService;
+
+    @Autowired
+    public UserCacheController(UserCacheService userCacheService) {
+        this.userCacheService = userCacheService;
+    }
+
+    @DeleteMapping("/{id}/cache")
+    public ResponseEntity<Void> evictUser(@PathVariable Long id) {
+        userCacheService.evictUser(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.intern.orderservice.controller;
+
+import com.intern.orderservice.dto.response.UserSnapshotUpdateResponse;
+import com.intern.orderservice.service.UserSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/orders/user-snapshots")
+public class UserSnapshotController {
+
+    private final UserSnapshotService userSnapshotService;
+
+    @Autowired
+    public UserSnapshotController(UserSnapshotService userSnapshotService) {
+        this.userSnapshotService = userSnapshotService;
+    }
+
+    @PostMapping("/backfill")
+    public ResponseEntity<UserSnapshotUpdateResponse> backfillSnapshots() {
+        return ResponseEntity.ok(new UserSnapshotUpdateResponse(userSnapshotService.backfillSnapshots()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<UserSnapshotUpdateResponse> refreshSnapshots() {
+        return ResponseEntity.ok(new UserSnapshotUpdateResponse(userSnapshotService.refreshSnapshots()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.intern.orderservice.dto.projection;
+
+import com.intern.orderservice.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per order line, selected straight from the database by {@code OrderRepository} read queries.
+ * Orders without lines yield a single row with null line and item columns. Rows of an order are
+ * grouped into an {@code OrderUserResponse} by {@code OrderMapper#toOrderUserResponses}.
+ */
+public record OrderLineProjection(
+        Long orderId,
+        Long userId,
+        OrderStatus status,
+        LocalDateTime creationDate,
+        String userName,
+        String userSurname,
+        String userEmail,
+        LocalDate userBirthDate,
+        LocalDateTime userSnapshotTakenAt,
+        Long orderItemId,
+        Integer quantity,
+        Long itemId,
+        String itemName,
+        BigDecimal itemPrice
+) {
+}
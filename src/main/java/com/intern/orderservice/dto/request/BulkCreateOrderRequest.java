@@ -0,0 +1,14 @@
+package com.intern.orderservice.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkCreateOrderRequest(
+        @NotEmpty(message = "orders must not be empty")
+        @Size(max = 1000, message = "at most 1000 orders per request")
+        @Valid
+        List<CreateOrderRequest> orders
+) {}
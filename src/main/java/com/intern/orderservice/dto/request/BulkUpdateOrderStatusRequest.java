@@ -0,0 +1,21 @@
+package com.intern.orderservice.dto.request;
+
+import com.intern.orderservice.model.enums.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Moves the given orders to {@code status}. When {@code expectedStatus} is set, only the orders
+ * currently in that status are moved.
+ */
+public record BulkUpdateOrderStatusRequest(
+        @NotEmpty(message = "ids must not be empty")
+        @Size(max = 1000, message = "at most 1000 ids per request")
+        List<@NotNull Long> ids,
+        @NotNull
+        OrderStatus status,
+        OrderStatus expectedStatus
+) {}
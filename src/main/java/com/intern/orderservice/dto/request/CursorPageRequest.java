@@ -0,0 +1,14 @@
+package com.intern.orderservice.dto.request;
+
+/**
+ * @param cursor {@code next} cursor of the previous page, null for the first page
+ * @param size   orders per page, null for {@code orders.page.default-size}
+ */
+public record CursorPageRequest(
+        String cursor,
+        Integer size
+) {
+    public static CursorPageRequest firstPage() {
+        return new CursorPageRequest(null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.intern.orderservice.dto.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record BulkCreateOrderResponse(
+        int created,
+        int failed,
+        List<BulkOrderResult> results
+) implements Serializable {
+
+    public static BulkCreateOrderResponse of(List<BulkOrderResult> results) {
+        int created = (int) results.stream().filter(result -> result.order() != null).count();
+        return new BulkCreateOrderResponse(created, results.size() - created, results);
+    }
+}
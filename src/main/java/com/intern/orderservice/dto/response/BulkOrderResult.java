@@ -0,0 +1,24 @@
+package com.intern.orderservice.dto.response;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of one order of a bulk request, {@code index} is its position in the request.
+ */
+public record BulkOrderResult(
+        int index,
+        HttpStatus status,
+        OrderUserResponse order,
+        String error
+) implements Serializable {
+
+    public static BulkOrderResult created(int index, OrderUserResponse order) {
+        return new BulkOrderResult(index, HttpStatus.CREATED, order, null);
+    }
+
+    public static BulkOrderResult failed(int index, HttpStatus status, String error) {
+        return new BulkOrderResult(index, status, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.intern.orderservice.dto.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * {@code skipped} holds the requested ids that were not updated, because the order does not exist, is in
+ * a terminal status or was not in the expected status. {@code orders} is only filled when requested.
+ */
+public record BulkUpdateOrderStatusResponse(
+        int updated,
+        List<Long> skipped,
+        List<OrderUserResponse> orders
+) implements Serializable {}
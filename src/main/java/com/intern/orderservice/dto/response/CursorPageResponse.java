@@ -0,0 +1,13 @@
+package com.intern.orderservice.dto.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @param next opaque cursor of the following page, null on the last page
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        String next
+) implements Serializable {
+}
@@ -0,0 +1,8 @@
+package com.intern.orderservice.dto.response;
+
+import java.io.Serializable;
+
+public record UserSnapshotUpdateResponse(
+        int updatedOrders
+) implements Serializable {
+}
@@ -65,6 +65,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPageRequest(
+            InvalidPageRequestException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
     @ExceptionHandler({
             StatusModificationIllegalAccessException.class,
             CreateOrderIllegalAccessException.class,
@@ -99,9 +113,9 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(statusCode).body(errorResponse);
     }
 
-    @ExceptionHandler(ItemAlreadyExistsException.class)
+    @ExceptionHandler({ItemAlreadyExistsException.class, OrderStatusConflictException.class})
     public ResponseEntity<ErrorResponse> handleConstraintViolation(
-            ItemAlreadyExistsException ex,
+            RuntimeException ex,
             HttpServletRequest request) {
 
         ErrorResponse errorResponse = new ErrorResponse(
@@ -112,5 +126,18 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
-}
 
+    @ExceptionHandler(UserServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUserServiceUnavailable(
+            UserServiceUnavailableException ex,
+            HttpServletRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+}
@@ -0,0 +1,9 @@
+package com.intern.orderservice.exception;
+
+import com.intern.orderservice.model.enums.OrderStatus;
+
+public class OrderStatusConflictException extends RuntimeException {
+    public OrderStatusConflictException(Long id, OrderStatus status) {
+        super("Order with id " + id + " is " + status + " and its status can no longer be changed");
+    }
+}
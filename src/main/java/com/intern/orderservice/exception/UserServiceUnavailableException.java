@@ -0,0 +1,7 @@
+package com.intern.orderservice.exception;
+
+public class UserServiceUnavailableException extends RuntimeException {
+    public UserServiceUnavailableException(int limit) {
+        super("UserService concurrency limit of " + limit + " requests reached, try again later");
+    }
+}
@@ -1,16 +1,24 @@
 package com.intern.orderservice.mapper;
 
 
+import com.intern.orderservice.dto.projection.OrderLineProjection;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.response.ItemResponse;
+import com.intern.orderservice.dto.response.OrderItemResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
 import com.intern.orderservice.model.Item;
 import com.intern.orderservice.model.Order;
+import com.intern.orderservice.model.UserSnapshot;
 import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring", uses = { OrderItemMapper.class })
 public interface OrderMapper {
@@ -19,17 +27,53 @@ public interface OrderMapper {
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "userId",  ignore = true)
+    @Mapping(target = "userSnapshot", ignore = true)
     Order toOrder(CreateOrderRequest request, @Context Map<Long, Item> itemsById);
 
     @Mapping(target = "id", source = "order.id")
     @Mapping(target = "user", source = "user")
     OrderUserResponse toOrderUserResponse(Order order, UserResponse user);
 
-    @Mapping(target = "user", source = "userId")
-    OrderUserResponse toOrderUserResponseList(Order order, @Context Map<Long, UserResponse> usersById);
+    @Mapping(target = "takenAt", ignore = true)
+    UserSnapshot toUserSnapshot(UserResponse user);
 
-    default UserResponse mapUser(Long id, @Context Map<Long, UserResponse> usersById) {
-        return usersById.get(id);
+    default UserResponse toSnapshotUser(Order order) {
+        UserSnapshot snapshot = order.getUserSnapshot();
+        if (snapshot == null) {
+            return null;
+        }
+        return new UserResponse(order.getUserId(), snapshot.getName(), snapshot.getSurname(),
+                snapshot.getBirthDate(), snapshot.getEmail());
+    }
+
+    default UserResponse toSnapshotUser(OrderLineProjection line) {
+        if (line.userSnapshotTakenAt() == null) {
+            return null;
+        }
+        return new UserResponse(line.userId(), line.userName(), line.userSurname(),
+                line.userBirthDate(), line.userEmail());
     }
-}
 
+    /**
+     * Groups order line rows, sorted by order, into one response per order. The user of each order
+     * is resolved from its first row.
+     */
+    default List<OrderUserResponse> toOrderUserResponses(List<OrderLineProjection> lines,
+                                                         Function<OrderLineProjection, UserResponse> userResolver) {
+        Map<Long, List<OrderLineProjection>> linesByOrderId = lines.stream()
+                .collect(Collectors.groupingBy(OrderLineProjection::orderId, LinkedHashMap::new, Collectors.toList()));
+        return linesByOrderId.values().stream()
+                .map(orderLines -> {
+                    OrderLineProjection first = orderLines.getFirst();
+                    List<OrderItemResponse> items = orderLines.stream()
+                            .filter(line -> line.orderItemId() != null)
+                            .map(line -> new OrderItemResponse(line.orderItemId(),
+                                    new ItemResponse(line.itemId(), line.itemName(), line.itemPrice()),
+                                    line.quantity()))
+                            .toList();
+                    return new OrderUserResponse(first.orderId(), userResolver.apply(first), first.status(),
+                            first.creationDate(), items);
+                })
+                .toList();
+    }
+}
@@ -18,7 +18,8 @@ import java.util.List;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -28,7 +29,11 @@ public class Item {
     @Column(name = "price", nullable = false, precision = 19, scale = 2)
     private BigDecimal price;
 
-    @OneToMany(mappedBy = "item", cascade = CascadeType.ALL, orphanRemoval = true)
+    /** a retired item can no longer be listed or ordered, the orders that have it still show it */
+    @Column(name = "retired", nullable = false)
+    private boolean retired;
+
+    @OneToMany(mappedBy = "item")
     @ToString.Exclude
     private List<OrderItem> orderItems = new ArrayList<>();
 
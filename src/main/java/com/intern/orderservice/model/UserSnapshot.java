@@ -0,0 +1,36 @@
+package com.intern.orderservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Copy of the ordering user's UserService data, taken when the order is created and kept
+ * up to date by {@link com.intern.orderservice.service.UserSnapshotService}.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSnapshot {
+
+    @Column(name = "user_name")
+    private String name;
+
+    @Column(name = "user_surname")
+    private String surname;
+
+    @Column(name = "user_email")
+    private String email;
+
+    @Column(name = "user_birth_date")
+    private LocalDate birthDate;
+
+    @Column(name = "user_snapshot_date")
+    private LocalDateTime takenAt;
+}
@@ -1,9 +1,14 @@
 package com.intern.orderservice.model.enums;
 
+import java.util.Set;
+
 public enum OrderStatus {
     NEW,
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    /** statuses an order never leaves */
+    public static final Set<OrderStatus> TERMINAL = Set.of(DELIVERED, CANCELLED);
 }
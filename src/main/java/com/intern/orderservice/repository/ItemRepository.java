@@ -1,11 +1,45 @@
 package com.intern.orderservice.repository;
 
+import com.intern.orderservice.dto.response.ItemResponse;
 import com.intern.orderservice.model.Item;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.ListPagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
 public interface ItemRepository extends ListCrudRepository<Item, Long>, ListPagingAndSortingRepository<Item, Long> {
-    boolean existsByNameAndPrice(String name, BigDecimal price);
+    boolean existsByNameAndPriceAndRetiredFalse(String name, BigDecimal price);
+
+    @Query("select new com.intern.orderservice.dto.response.ItemResponse(i.id, i.name, i.price) from Item i "
+            + "where i.id in :ids and i.retired = false")
+    List<ItemResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Pages and their counts are kept in the query cache until an item changes.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "select new com.intern.orderservice.dto.response.ItemResponse(i.id, i.name, i.price) from Item i "
+            + "where i.retired = false",
+            countQuery = "select count(i) from Item i where i.retired = false")
+    Page<ItemResponse> findAllResponses(Pageable pageable);
+
+    /**
+     * Retires the item in one statement, its order lines are left untouched. Returns 0 when there is no such
+     * item or it is already retired.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Item i set i.retired = true where i.id = :id and i.retired = false")
+    int retireItemById(@Param("id") Long id);
 }
@@ -1,22 +1,187 @@
 package com.intern.orderservice.repository;
 
+import com.intern.orderservice.dto.projection.OrderLineProjection;
 import com.intern.orderservice.model.Order;
 import com.intern.orderservice.model.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Reads select {@link OrderLineProjection} rows, which are neither managed nor dirty-checked, and orders
+ * are modified with conditional statements, so no finder loads order entities. Listings are read a page
+ * at a time through the {@code findPageLines} queries, see {@code OrderPageHelper}.
+ */
 public interface OrderRepository extends ListCrudRepository<Order, Long> {
 
-    List<Order> findAllByStatusIn(Collection<OrderStatus> statuses);
+    String SELECT_ORDER_LINES = """
+            select new com.intern.orderservice.dto.projection.OrderLineProjection(
+                o.id, o.userId, o.status, o.creationDate,
+                o.userSnapshot.name, o.userSnapshot.surname, o.userSnapshot.email, o.userSnapshot.birthDate,
+                o.userSnapshot.takenAt,
+                oi.id, oi.quantity, i.id, i.name, i.price)
+            from Order o
+                left join o.items oi
+                left join oi.item i
+            """;
+    String ORDER_LINES_SORT = " order by o.id, oi.id";
+    int EXPORT_FETCH_SIZE = 500;
 
-    Optional<Order> findByIdAndUserId(Long id, Long userId);
+    /*
+     * Page queries select the page's orders by the (creation_date, id) keyset in a subquery, newest first,
+     * and their lines in the same statement.
+     */
+    String SELECT_PAGE_IDS = "select p.id from Order p where ";
+    String PAGE_BEFORE = " and (p.creationDate, p.id) < (:beforeDate, :beforeId) order by p.creationDate desc, p.id desc limit :limit";
+    String PAGE_LINES_SORT = " order by o.creationDate desc, o.id desc, oi.id";
 
-    List<Order> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+    @Query(SELECT_ORDER_LINES + "where o.id = :id" + ORDER_LINES_SORT)
+    List<OrderLineProjection> findLinesById(@Param("id") Long id);
 
-    List<Order> findAllByStatusInAndUserId(Collection<OrderStatus> statuses,  Long userId);
+    @Query(SELECT_ORDER_LINES + "where o.id = :id and o.userId = :userId" + ORDER_LINES_SORT)
+    List<OrderLineProjection> findLinesByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
-    boolean existsByIdAndUserId(Long id, Long userId);
+    @Query(SELECT_ORDER_LINES + "where o.id in :ids" + ORDER_LINES_SORT)
+    List<OrderLineProjection> findLinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_ORDER_LINES + "where o.id in (" + SELECT_PAGE_IDS + "p.id in :ids" + PAGE_BEFORE + ")" + PAGE_LINES_SORT)
+    List<OrderLineProjection> findPageLinesByIdIn(@Param("ids") Collection<Long> ids,
+                                                  @Param("beforeDate") LocalDateTime beforeDate,
+                                                  @Param("beforeId") Long beforeId,
+                                                  @Param("limit") int limit);
+
+    @Query(SELECT_ORDER_LINES + "where o.id in (" + SELECT_PAGE_IDS + "p.status in :statuses" + PAGE_BEFORE + ")" + PAGE_LINES_SORT)
+    List<OrderLineProjection> findPageLinesByStatusIn(@Param("statuses") Collection<OrderStatus> statuses,
+                                                      @Param("beforeDate") LocalDateTime beforeDate,
+                                                      @Param("beforeId") Long beforeId,
+                                                      @Param("limit") int limit);
+
+    @Query(SELECT_ORDER_LINES + "where o.id in (" + SELECT_PAGE_IDS + "p.userId = :userId" + PAGE_BEFORE + ")" + PAGE_LINES_SORT)
+    List<OrderLineProjection> findPageLinesByUserId(@Param("userId") Long userId,
+                                                    @Param("beforeDate") LocalDateTime beforeDate,
+                                                    @Param("beforeId") Long beforeId,
+                                                    @Param("limit") int limit);
+
+    @Query(SELECT_ORDER_LINES + "where o.id in (" + SELECT_PAGE_IDS + "p.id in :ids and p.userId = :userId" + PAGE_BEFORE + ")"
+            + PAGE_LINES_SORT)
+    List<OrderLineProjection> findPageLinesByIdInAndUserId(@Param("ids") Collection<Long> ids,
+                                                           @Param("userId") Long userId,
+                                                           @Param("beforeDate") LocalDateTime beforeDate,
+                                                           @Param("beforeId") Long beforeId,
+                                                           @Param("limit") int limit);
+
+    @Query(SELECT_ORDER_LINES + "where o.id in (" + SELECT_PAGE_IDS + "p.status in :statuses and p.userId = :userId" + PAGE_BEFORE + ")"
+            + PAGE_LINES_SORT)
+    List<OrderLineProjection> findPageLinesByStatusInAndUserId(@Param("statuses") Collection<OrderStatus> statuses,
+                                                               @Param("userId") Long userId,
+                                                               @Param("beforeDate") LocalDateTime beforeDate,
+                                                               @Param("beforeId") Long beforeId,
+                                                               @Param("limit") int limit);
+
+    /**
+     * Streams the lines through a forward-only cursor fetching {@link #EXPORT_FETCH_SIZE} rows at a time.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ORDER_LINES + "where o.status in :statuses" + ORDER_LINES_SORT)
+    Stream<OrderLineProjection> streamLinesByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query("select o.status from Order o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    @Query("select o.status from Order o where o.id = :id and o.userId = :userId")
+    Optional<OrderStatus> findStatusByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /*
+     * Single-order mutations are one conditional statement each, the affected row count tells whether
+     * the order matched. Order lines are removed by the ON DELETE CASCADE of their foreign key.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.status = :status where o.id = :id and o.status not in :terminal")
+    int updateStatusById(@Param("id") Long id,
+                         @Param("status") OrderStatus status,
+                         @Param("terminal") Collection<OrderStatus> terminal);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.status = :status where o.id = :id and o.userId = :userId and o.status not in :terminal")
+    int updateStatusByIdAndUserId(@Param("id") Long id,
+                                  @Param("userId") Long userId,
+                                  @Param("status") OrderStatus status,
+                                  @Param("terminal") Collection<OrderStatus> terminal);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Order o where o.id = :id")
+    int deleteOrderById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Order o where o.id = :id and o.userId = :userId")
+    int deleteOrderByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select distinct o.userId from Order o where o.userSnapshot.takenAt is null and o.userId > :afterUserId order by o.userId")
+    List<Long> findUserIdsWithoutUserSnapshot(@Param("afterUserId") Long afterUserId, Limit limit);
+
+    @Query("select distinct o.userId from Order o where o.userSnapshot.takenAt < :takenBefore and o.userId > :afterUserId order by o.userId")
+    List<Long> findUserIdsWithUserSnapshotTakenBefore(@Param("takenBefore") LocalDateTime takenBefore,
+                                                      @Param("afterUserId") Long afterUserId,
+                                                      Limit limit);
+
+    /*
+     * Bulk status updates are a single statement returning the ids of the updated orders, orders in a
+     * terminal status are left alone. They are not {@code @Modifying} because the rows come back as a
+     * result set; the persistence context is not refreshed, so reload the orders afterwards if needed.
+     */
+    @Transactional
+    @Query(value = "update orders set status = :status where id in :ids and status not in :terminal returning id",
+            nativeQuery = true)
+    List<Long> updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                                  @Param("status") String status,
+                                  @Param("terminal") Collection<String> terminal);
+
+    @Transactional
+    @Query(value = """
+            update orders set status = :status
+            where id in :ids and status = :expectedStatus and status not in :terminal
+            returning id""",
+            nativeQuery = true)
+    List<Long> updateStatusByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                           @Param("status") String status,
+                                           @Param("expectedStatus") String expectedStatus,
+                                           @Param("terminal") Collection<String> terminal);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Order o set
+                o.userSnapshot.name = :name,
+                o.userSnapshot.surname = :surname,
+                o.userSnapshot.email = :email,
+                o.userSnapshot.birthDate = :birthDate,
+                o.userSnapshot.takenAt = :takenAt
+            where o.userId = :userId""")
+    int updateUserSnapshot(@Param("userId") Long userId,
+                           @Param("name") String name,
+                           @Param("surname") String surname,
+                           @Param("email") String email,
+                           @Param("birthDate") LocalDate birthDate,
+                           @Param("takenAt") LocalDateTime takenAt);
 }
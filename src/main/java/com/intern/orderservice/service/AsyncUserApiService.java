@@ -0,0 +1,12 @@
+package com.intern.orderservice.service;
+
+import com.intern.orderservice.dto.response.UserResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncUserApiService {
+
+    CompletableFuture<UserResponse> getUserByIdAsync(Long userId);
+
+    CompletableFuture<UserResponse> getCurrentUserByEmailAsync(String email);
+}
@@ -1,5 +1,7 @@
 package com.intern.orderservice.service;
 
+import java.time.Instant;
+
 public interface AuthorizationService {
     String ADMIN = "ROLE_admin";
     String USER = "ROLE_user";
@@ -10,4 +12,10 @@ public interface AuthorizationService {
     boolean isUser();
 
     String getEmail();
+
+    String getTokenValue();
+
+    String getSubject();
+
+    Instant getExpiresAt();
 }
@@ -0,0 +1,10 @@
+package com.intern.orderservice.service;
+
+import com.intern.orderservice.dto.response.UserResponse;
+
+public interface CurrentUserService {
+
+    UserResponse getUserByEmail(String email);
+
+    void evictUser(Long userId);
+}
@@ -0,0 +1,16 @@
+package com.intern.orderservice.service;
+
+import com.intern.orderservice.model.enums.OrderStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+public interface OrderExportService {
+
+    /**
+     * Writes every order in the given statuses to {@code out} as newline-delimited JSON, one
+     * {@code OrderUserResponse} per line, without holding the result set in memory.
+     */
+    void exportOrdersByStatuses(Collection<OrderStatus> statuses, OutputStream out) throws IOException;
+}
@@ -1,23 +1,34 @@
 package com.intern.orderservice.service;
 
+import com.intern.orderservice.dto.request.BulkCreateOrderRequest;
+import com.intern.orderservice.dto.request.BulkUpdateOrderStatusRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.BulkCreateOrderResponse;
+import com.intern.orderservice.dto.response.BulkUpdateOrderStatusResponse;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.model.enums.OrderStatus;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
 
 public interface OrderServiceAuthorizationDecorator {
     Optional<OrderUserResponse> getOrderById(Long id);
 
-    List<OrderUserResponse> getOrdersByIds(Collection<Long> ids);
+    CursorPageResponse<OrderUserResponse> getOrdersByIds(Collection<Long> ids, CursorPageRequest pageRequest);
 
-    List<OrderUserResponse> getOrdersByStatuses(Collection<OrderStatus> statuses);
+    CursorPageResponse<OrderUserResponse> getOrdersByStatuses(Collection<OrderStatus> statuses, CursorPageRequest pageRequest);
+
+    CursorPageResponse<OrderUserResponse> getCurrentUserOrders(CursorPageRequest pageRequest);
 
     OrderUserResponse createOrder(CreateOrderRequest request);
 
+    BulkCreateOrderResponse createOrders(BulkCreateOrderRequest request);
+
+    BulkUpdateOrderStatusResponse updateOrdersStatus(BulkUpdateOrderStatusRequest request, boolean includeOrders);
+
     OrderUserResponse updateOrderStatusById(Long id, UpdateOrderStatusRequest request);
 
     void deleteOrderById(Long id);
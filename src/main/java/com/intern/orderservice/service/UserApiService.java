@@ -1,15 +1,19 @@
 package com.intern.orderservice.service;
 
 import com.intern.orderservice.dto.response.UserResponse;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+
+import java.util.Collection;
+import java.util.Map;
 
 public interface UserApiService {
 
-    @CircuitBreaker(name = "UserService", fallbackMethod = "getUserByIdFallback")
     UserResponse getUserById(Long userId);
 
-    @CircuitBreaker(name = "UserService")
     UserResponse getUserByEmail(String email);
 
     UserResponse getUserByIdFallback(Long userId, RuntimeException t);
+
+    Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds);
+
+    Map<Long, UserResponse> getUsersByIdsFallback(Collection<Long> userIds, RuntimeException t);
 }
@@ -0,0 +1,6 @@
+package com.intern.orderservice.service;
+
+public interface UserCacheService {
+
+    void evictUser(Long userId);
+}
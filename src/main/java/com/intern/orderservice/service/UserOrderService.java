@@ -1,20 +1,23 @@
 package com.intern.orderservice.service;
 
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.model.enums.OrderStatus;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
 
 public interface UserOrderService {
     Optional<OrderUserResponse> getUserOrderById(Long id, String email);
 
-    List<OrderUserResponse> getUserOrdersByIds(Collection<Long> ids, String email);
+    CursorPageResponse<OrderUserResponse> getUserOrdersByIds(Collection<Long> ids, String email, CursorPageRequest pageRequest);
 
-    List<OrderUserResponse> getUserOrdersByStatuses(Collection<OrderStatus> statuses, String email);
+    CursorPageResponse<OrderUserResponse> getUserOrdersByStatuses(Collection<OrderStatus> statuses, String email, CursorPageRequest pageRequest);
+
+    CursorPageResponse<OrderUserResponse> getUserOrders(String email, CursorPageRequest pageRequest);
 
     OrderUserResponse createUserOrder(CreateOrderRequest request, String email);
 
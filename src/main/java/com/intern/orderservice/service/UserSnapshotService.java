@@ -0,0 +1,14 @@
+package com.intern.orderservice.service;
+
+public interface UserSnapshotService {
+
+    /**
+     * Takes user snapshots for orders that have none, returns the number of updated orders.
+     */
+    int backfillSnapshots();
+
+    /**
+     * Reloads user snapshots older than {@code userservice.snapshot.max-age}, returns the number of updated orders.
+     */
+    int refreshSnapshots();
+}
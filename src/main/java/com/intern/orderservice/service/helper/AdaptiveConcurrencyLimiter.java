@@ -0,0 +1,121 @@
+package com.intern.orderservice.service.helper;
+
+import com.intern.orderservice.exception.UserServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead for UserService calls with an AIMD adaptive limit. A call slower than
+ * {@code userservice.limiter.latency-threshold}, or one failing with an I/O error, multiplies the limit
+ * by {@code backoff-ratio}; every faster call while at least half the limit is in use grows it by
+ * {@code 1 / limit}, i.e. by one per window of calls. Calls over the limit are rejected immediately with
+ * {@link UserServiceUnavailableException} instead of blocking another request thread on a slow UserService.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    public static final String LIMIT_METRIC = "userservice.limiter.limit";
+    public static final String IN_FLIGHT_METRIC = "userservice.limiter.in-flight";
+    public static final String REJECTED_METRIC = "userservice.limiter.rejected";
+
+    private final boolean enabled;
+    private final double minLimit;
+    private final double maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final Counter rejected;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${userservice.limiter.enabled}") boolean enabled,
+                                      @Value("${userservice.limiter.initial-limit}") int initialLimit,
+                                      @Value("${userservice.limiter.min-limit}") int minLimit,
+                                      @Value("${userservice.limiter.max-limit}") int maxLimit,
+                                      @Value("${userservice.limiter.latency-threshold}") Duration latencyThreshold,
+                                      @Value("${userservice.limiter.backoff-ratio}") double backoffRatio) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+
+        Gauge.builder(LIMIT_METRIC, this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for UserService calls")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("UserService calls currently in flight")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .description("UserService calls rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        acquire();
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return call.get();
+        } catch (ResourceAccessException e) {
+            dropped = true;
+            throw e;
+        } finally {
+            release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public double getRejected() {
+        return rejected.count();
+    }
+
+    private void acquire() {
+        int currentLimit;
+        synchronized (this) {
+            currentLimit = (int) limit;
+            if (inFlight < currentLimit) {
+                inFlight++;
+                return;
+            }
+        }
+        rejected.increment();
+        log.warn("Rejecting UserService call, concurrency limit {} reached", currentLimit);
+        throw new UserServiceUnavailableException(currentLimit);
+    }
+
+    private synchronized void release(long latencyNanos, boolean dropped) {
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            // only grow while the limit is actually being used, an idle service says nothing about capacity
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        inFlight--;
+    }
+}
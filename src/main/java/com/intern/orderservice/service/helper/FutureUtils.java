@@ -0,0 +1,36 @@
+package com.intern.orderservice.service.helper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public final class FutureUtils {
+
+    private FutureUtils() {
+    }
+
+    /**
+     * Joins the future and rethrows the original exception instead of a {@link CompletionException},
+     * so callers and exception handlers see the same exception types as with synchronous calls.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the future to complete and ignores its outcome. Used by callers that fail before joining,
+     * so that work started on behalf of their request does not outlive it.
+     */
+    public static void awaitQuietly(CompletableFuture<?> future) {
+        future.handle((result, failure) -> null).join();
+    }
+}
@@ -0,0 +1,126 @@
+package com.intern.orderservice.service.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.intern.orderservice.dto.response.ItemResponse;
+import com.intern.orderservice.repository.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Near-cache of the item catalog. Items are resolved from a local size- and TTL-bounded cache, the
+ * misses of a lookup are loaded with one query; absent and retired items are not cached. Items are only
+ * written by {@code ItemServiceImpl}: created items are cached after commit, retired ones are invalidated
+ * at once and again after commit, so that a concurrent miss cannot bring the item back before its
+ * retirement is visible. Changes made on other instances arrive through {@link ItemChangeListener}, the
+ * TTL bounds staleness should notifications fail. Up to {@code orders.item-cache.maximum-size} items are
+ * loaded once the application is ready.
+ */
+@Component
+@Slf4j
+public class ItemCatalogCache {
+
+    public static final String ITEMS_BY_ID_CACHE = "itemsById";
+
+    private final ItemRepository itemRepository;
+    private final Cache<Long, ItemResponse> itemsById;
+    private final long maximumSize;
+    private final boolean warmUp;
+
+    public ItemCatalogCache(ItemRepository itemRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${orders.item-cache.maximum-size}") long maximumSize,
+                            @Value("${orders.item-cache.ttl}") Duration ttl,
+                            @Value("${orders.item-cache.warm-up}") boolean warmUp) {
+        this.itemRepository = itemRepository;
+        this.maximumSize = maximumSize;
+        this.warmUp = warmUp;
+        this.itemsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, itemsById, ITEMS_BY_ID_CACHE);
+    }
+
+    public Optional<ItemResponse> get(Long id) {
+        return Optional.ofNullable(getAll(List.of(id)).get(id));
+    }
+
+    /**
+     * Returns the existing items among {@code ids}, missing ids are absent from the map.
+     */
+    public Map<Long, ItemResponse> getAll(Collection<Long> ids) {
+        return itemsById.getAll(ids, this::load);
+    }
+
+    /**
+     * Caches a created item once its transaction commits, or right away outside a transaction.
+     */
+    public void put(ItemResponse item) {
+        if (!afterCommit(() -> itemsById.put(item.id(), item))) {
+            itemsById.put(item.id(), item);
+        }
+    }
+
+    public void invalidate(Long id) {
+        itemsById.invalidate(id);
+        afterCommit(() -> itemsById.invalidate(id));
+    }
+
+    /**
+     * Drops every cached item and reloads them as at startup, for when item changes may have been missed.
+     */
+    public void refreshAll() {
+        itemsById.invalidateAll();
+        warmUp();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUp) {
+            return;
+        }
+        int size = (int) Math.min(maximumSize, Integer.MAX_VALUE);
+        List<ItemResponse> items = itemRepository.findAllResponses(PageRequest.of(0, size, Sort.by("id"))).getContent();
+        items.forEach(item -> itemsById.put(item.id(), item));
+        log.info("Loaded {} items into the item catalog cache", items.size());
+    }
+
+    private Map<Long, ItemResponse> load(Set<? extends Long> ids) {
+        return itemRepository.findResponsesByIdIn(List.copyOf(ids)).stream()
+                .collect(Collectors.toMap(ItemResponse::id, Function.identity()));
+    }
+
+    private static boolean afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+package com.intern.orderservice.service.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Evicts items changed on any instance from the local {@link ItemCatalogCache} and clears the Hibernate
+ * query cache; items created elsewhere only clear the query cache, so that listings include them. A
+ * trigger on {@code items} notifies the {@value #CHANNEL} channel on commit, and this listener receives the
+ * notifications on its own connection, outside the pool, in a dedicated thread. The connection is
+ * checked every {@code orders.item-cache.notify.ping-interval} while idle. When it is lost, the listener
+ * reconnects after {@code reconnect-delay} and resubscribes, then refreshes the whole cache because
+ * notifications sent in between are lost.
+ */
+@Component
+@Slf4j
+public class ItemChangeListener {
+
+    public static final String CHANNEL = "item_changes";
+    public static final String ALL_ITEMS = "*";
+    public static final String ITEM_ADDED = "+";
+    public static final String APPLICATION_NAME = "orderservice-item-listener";
+    public static final String RESUBSCRIBED_METRIC = "orders.item-cache.notify.resubscribed";
+
+    private final ItemCatalogCache itemCatalogCache;
+    private final SessionFactory sessionFactory;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final Duration pingInterval;
+    private final Duration reconnectDelay;
+    private final Counter resubscribed;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public ItemChangeListener(ItemCatalogCache itemCatalogCache,
+                              EntityManagerFactory entityManagerFactory,
+                              DataSourceProperties dataSourceProperties,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.item-cache.notify.enabled}") boolean enabled,
+                              @Value("${orders.item-cache.notify.ping-interval}") Duration pingInterval,
+                              @Value("${orders.item-cache.notify.reconnect-delay}") Duration reconnectDelay) {
+        this.itemCatalogCache = itemCatalogCache;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.pingInterval = pingInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.resubscribed = Counter.builder(RESUBSCRIBED_METRIC)
+                .description("Item change subscriptions renewed after a lost connection, each followed by a full cache refresh")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes before the item cache is warmed up, so that no change between the two goes unnoticed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        boolean subscribed = subscribe();
+        thread = Thread.ofPlatform().name(APPLICATION_NAME).daemon().start(() -> listen(subscribed));
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        close();
+    }
+
+    private void listen(boolean subscribed) {
+        while (running) {
+            if (!subscribed) {
+                sleep(reconnectDelay);
+                if (!running || !subscribe()) {
+                    continue;
+                }
+                resubscribed.increment();
+                refreshAll();
+            }
+            subscribed = receive();
+        }
+    }
+
+    private boolean subscribe() {
+        try {
+            Properties properties = new Properties();
+            properties.setProperty(PGProperty.USER.getName(), dataSourceProperties.determineUsername());
+            String password = dataSourceProperties.determinePassword();
+            if (password != null) {
+                properties.setProperty(PGProperty.PASSWORD.getName(), password);
+            }
+            properties.setProperty(PGProperty.APPLICATION_NAME.getName(), APPLICATION_NAME);
+            connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            log.info("Listening for item changes on channel {}", CHANNEL);
+            return true;
+        } catch (SQLException e) {
+            log.warn("Failed to listen for item changes, retrying in {}: {}", reconnectDelay, e.getMessage());
+            close();
+            return false;
+        }
+    }
+
+    /**
+     * Dispatches notifications until the connection fails, returns whether it is still subscribed.
+     */
+    private boolean receive() {
+        try {
+            PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                    .getNotifications((int) pingInterval.toMillis());
+            if (notifications == null || notifications.length == 0) {
+                // an idle socket does not notice a lost server, a round trip does
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                return true;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getParameter());
+            }
+            return true;
+        } catch (SQLException e) {
+            if (running) {
+                log.warn("Lost item change subscription, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+            }
+            close();
+            return false;
+        }
+    }
+
+    private void dispatch(String payload) {
+        if (ALL_ITEMS.equals(payload)) {
+            refreshAll();
+            return;
+        }
+        if (ITEM_ADDED.equals(payload)) {
+            sessionFactory.getCache().evictDefaultQueryRegion();
+            return;
+        }
+        Long id;
+        try {
+            id = Long.valueOf(payload);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring item change notification with payload: {}", payload);
+            return;
+        }
+        sessionFactory.getCache().evictDefaultQueryRegion();
+        itemCatalogCache.invalidate(id);
+    }
+
+    private void refreshAll() {
+        sessionFactory.getCache().evictDefaultQueryRegion();
+        itemCatalogCache.refreshAll();
+    }
+
+    private void close() {
+        Connection current = connection;
+        connection = null;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close item change connection: {}", e.getMessage());
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.intern.orderservice.service.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.exception.UserServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Last-known-good copies of users successfully loaded from UserService. They are served when
+ * UserService is unavailable (circuit open, concurrency limit reached or I/O failure such as a read
+ * timeout) and the current request is then marked stale. Users served stale are not cached, so the
+ * next read once UserService is back reloads them.
+ */
+@Component
+public class LastKnownUserStore {
+
+    public static final String STALE_ATTRIBUTE = LastKnownUserStore.class.getName() + ".STALE";
+    public static final String STALE_SERVED_METRIC = "userservice.stale.served";
+
+    private final Cache<Long, UserResponse> usersById;
+    private final Cache<String, UserResponse> usersByEmail;
+    private final Counter staleServedById;
+    private final Counter staleServedByEmail;
+
+    public LastKnownUserStore(MeterRegistry meterRegistry,
+                              @Value("${userservice.cache.maximum-size}") long maximumSize,
+                              @Value("${userservice.cache.stale-ttl}") Duration staleTtl) {
+        this.usersById = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(staleTtl).build();
+        this.usersByEmail = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(staleTtl).build();
+        this.staleServedById = staleServedCounter(meterRegistry, "id");
+        this.staleServedByEmail = staleServedCounter(meterRegistry, "email");
+    }
+
+    public static boolean isUnavailable(RuntimeException e) {
+        return e instanceof CallNotPermittedException
+                || e instanceof ResourceAccessException
+                || e instanceof UserServiceUnavailableException;
+    }
+
+    public void remember(UserResponse user) {
+        // NotFound placeholders carry no id and are not worth serving stale
+        if (user == null || user.id() == null) {
+            return;
+        }
+        usersById.put(user.id(), user);
+        if (user.email() != null) {
+            usersByEmail.put(user.email(), user);
+        }
+    }
+
+    public void forget(Long userId) {
+        usersById.invalidate(userId);
+        usersByEmail.asMap().values().removeIf(user -> userId.equals(user.id()));
+    }
+
+    public UserResponse getStaleById(Long userId) {
+        UserResponse user = usersById.getIfPresent(userId);
+        if (user != null) {
+            staleServedById.increment();
+        }
+        return user;
+    }
+
+    public UserResponse getStaleByEmail(String email) {
+        UserResponse user = usersByEmail.getIfPresent(email);
+        if (user != null) {
+            staleServedByEmail.increment();
+        }
+        return user;
+    }
+
+    public Map<Long, UserResponse> getStaleByIds(Collection<Long> userIds) {
+        Map<Long, UserResponse> users = usersById.getAllPresent(userIds);
+        staleServedById.increment(users.size());
+        return users;
+    }
+
+    public void markResponseStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(STALE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public boolean isResponseStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(STALE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    private static Counter staleServedCounter(MeterRegistry meterRegistry, String lookup) {
+        return Counter.builder(STALE_SERVED_METRIC)
+                .description("Users served from the last-known-good store while UserService was unavailable")
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+    }
+}
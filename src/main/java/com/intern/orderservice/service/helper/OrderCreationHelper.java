@@ -2,6 +2,7 @@ package com.intern.orderservice.service.helper;
 
 import com.intern.orderservice.dto.request.CreateOrderItemRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.response.ItemResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
 import com.intern.orderservice.exception.ItemsNotFoundException;
@@ -9,11 +10,13 @@ import com.intern.orderservice.mapper.OrderMapper;
 import com.intern.orderservice.model.Item;
 import com.intern.orderservice.model.Order;
 import com.intern.orderservice.model.enums.OrderStatus;
-import com.intern.orderservice.repository.ItemRepository;
 import com.intern.orderservice.repository.OrderRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -22,44 +25,103 @@ import java.util.stream.Collectors;
 @Component
 public class OrderCreationHelper {
 
-    private final ItemRepository itemRepository;
+    private final ItemCatalogCache itemCatalogCache;
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final UserSnapshotHelper userSnapshotHelper;
 
-    public OrderCreationHelper(ItemRepository itemRepository,
+    public OrderCreationHelper(ItemCatalogCache itemCatalogCache,
                                OrderRepository orderRepository,
-                               OrderMapper orderMapper) {
-        this.itemRepository = itemRepository;
+                               OrderMapper orderMapper,
+                               UserSnapshotHelper userSnapshotHelper) {
+        this.itemCatalogCache = itemCatalogCache;
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
+        this.userSnapshotHelper = userSnapshotHelper;
     }
 
     public OrderUserResponse createOrderFromRequestAndUser(CreateOrderRequest request, UserResponse user) {
-        Map<Long, Item> itemsById = extractItemsById(request);
+        return createOrder(request, findItemsById(request), user);
+    }
+
+    /**
+     * Resolves the requested items from the item catalog cache without validating them, so the lookup
+     * can run while the user is still being fetched. Pass the result to {@link #createOrder}.
+     */
+    public Map<Long, Item> findItemsById(CreateOrderRequest request) {
+        return toItemReferences(itemCatalogCache.getAll(requestedItemIds(request)));
+    }
+
+    /**
+     * Resolves the items of all requests, the cache misses with one query.
+     */
+    public Map<Long, Item> findItemsById(Collection<CreateOrderRequest> requests) {
+        Set<Long> requestedItemIds = requests.stream()
+                .flatMap(request -> requestedItemIds(request).stream())
+                .collect(Collectors.toSet());
+
+        return toItemReferences(itemCatalogCache.getAll(requestedItemIds));
+    }
 
+    public Set<Long> findMissingItemIds(CreateOrderRequest request, Map<Long, Item> itemsById) {
+        Set<Long> missingItemIds = requestedItemIds(request);
+        missingItemIds.removeAll(itemsById.keySet());
+        return missingItemIds;
+    }
+
+    public OrderUserResponse createOrder(CreateOrderRequest request, Map<Long, Item> itemsById, UserResponse user) {
+        Set<Long> missingItemIds = findMissingItemIds(request, itemsById);
+        if (!missingItemIds.isEmpty()) {
+            throw new ItemsNotFoundException(missingItemIds);
+        }
+
+        Order saved = orderRepository.save(buildOrder(request, itemsById, user));
+
+        return orderMapper.toOrderUserResponse(saved, user);
+    }
+
+    /**
+     * Creates validated orders in one transaction, their rows are inserted in JDBC batches.
+     * The items and users of every request must be present in the maps.
+     */
+    @Transactional
+    public List<OrderUserResponse> createOrders(List<CreateOrderRequest> requests,
+                                                Map<Long, Item> itemsById,
+                                                Map<Long, UserResponse> usersById) {
+        List<Order> orders = requests.stream()
+                .map(request -> buildOrder(request, itemsById, usersById.get(request.userId())))
+                .toList();
+
+        List<Order> saved = orderRepository.saveAll(orders);
+
+        return saved.stream()
+                .map(order -> orderMapper.toOrderUserResponse(order, usersById.get(order.getUserId())))
+                .toList();
+    }
+
+    private Order buildOrder(CreateOrderRequest request, Map<Long, Item> itemsById, UserResponse user) {
         Order order = orderMapper.toOrder(request, itemsById);
         order.setUserId(user.id());
+        userSnapshotHelper.takeSnapshot(order, user);
         order.setCreationDate(LocalDateTime.now());
         order.setStatus(OrderStatus.NEW);
         order.getItems().forEach(item -> item.setOrder(order));
+        return order;
+    }
 
-        Order saved = orderRepository.save(order);
-
-        return orderMapper.toOrderUserResponse(saved, user);
+    /**
+     * Cached items are shared, so every lookup gets its own detached copies. Inserting an order line only
+     * needs the item id, the response is built from the copied name and price without loading the item.
+     */
+    private static Map<Long, Item> toItemReferences(Map<Long, ItemResponse> items) {
+        return items.values().stream()
+                .map(item -> Item.builder().id(item.id()).name(item.name()).price(item.price()).build())
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
     }
 
-    private Map<Long, Item> extractItemsById(CreateOrderRequest request) {
-        Set<Long> requestedItemIds = request.items().stream()
+    private Set<Long> requestedItemIds(CreateOrderRequest request) {
+        return request.items().stream()
                 .map(CreateOrderItemRequest::itemId)
                 .collect(Collectors.toSet());
-
-        Map<Long, Item> itemsById = itemRepository.findAllById(requestedItemIds).stream()
-                .collect(Collectors.toMap(Item::getId, Function.identity()));
-
-        requestedItemIds.removeAll(itemsById.keySet());
-        if (!requestedItemIds.isEmpty()) {
-            throw new ItemsNotFoundException(requestedItemIds);
-        }
-        return itemsById;
     }
 }
@@ -0,0 +1,112 @@
+package com.intern.orderservice.service.helper;
+
+import com.intern.orderservice.dto.projection.OrderLineProjection;
+import com.intern.orderservice.dto.request.CursorPageRequest;
+import com.intern.orderservice.dto.response.CursorPageResponse;
+import com.intern.orderservice.dto.response.OrderUserResponse;
+import com.intern.orderservice.exception.InvalidPageRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination of order listings, newest first. A page holds the orders strictly older than the
+ * {@code (creation_date, id)} key carried by the opaque cursor, so reading a page costs the same index
+ * range scan however deep the client has paginated. The page size is capped at {@code orders.page.max-size}.
+ */
+@Component
+public class OrderPageHelper {
+
+    /** key of the first page, newer than any order */
+    private static final LocalDateTime FIRST_PAGE_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String SEPARATOR = "|";
+
+    @FunctionalInterface
+    public interface PageQuery {
+        /**
+         * Returns the lines of at most {@code limit} orders older than {@code (beforeDate, beforeId)},
+         * sorted newest first and by line within an order.
+         */
+        List<OrderLineProjection> find(LocalDateTime beforeDate, Long beforeId, int limit);
+    }
+
+    private record Key(LocalDateTime creationDate, Long id) {
+    }
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public OrderPageHelper(@Value("${orders.page.default-size}") int defaultSize,
+                           @Value("${orders.page.max-size}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public CursorPageResponse<OrderUserResponse> readPage(CursorPageRequest pageRequest,
+                                                           PageQuery query,
+                                                           Function<List<OrderLineProjection>, List<OrderUserResponse>> mapper) {
+        int size = resolveSize(pageRequest.size());
+        Key after = decode(pageRequest.cursor());
+
+        // one order more than the page tells whether there is a next page
+        List<OrderLineProjection> lines = query.find(after.creationDate(), after.id(), size + 1);
+
+        List<OrderLineProjection> pageLines = new ArrayList<>();
+        OrderLineProjection last = null;
+        int orders = 0;
+        boolean hasNext = false;
+        for (OrderLineProjection line : lines) {
+            if (last == null || !last.orderId().equals(line.orderId())) {
+                if (orders == size) {
+                    hasNext = true;
+                    break;
+                }
+                orders++;
+            }
+            pageLines.add(line);
+            last = line;
+        }
+
+        String next = hasNext ? encode(new Key(last.creationDate(), last.orderId())) : null;
+        return new CursorPageResponse<>(mapper.apply(pageLines), next);
+    }
+
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1) {
+            throw new InvalidPageRequestException("Page size must be positive, got " + size);
+        }
+        return Math.min(size, maxSize);
+    }
+
+    private static String encode(Key key) {
+        String raw = key.creationDate() + SEPARATOR + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Key decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Key(FIRST_PAGE_DATE, Long.MAX_VALUE);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidPageRequestException("Invalid page cursor: " + cursor);
+            }
+            return new Key(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException
+            throw new InvalidPageRequestException("Invalid page cursor: " + cursor);
+        }
+    }
+}
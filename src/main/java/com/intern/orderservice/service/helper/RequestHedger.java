@@ -0,0 +1,174 @@
+package com.intern.orderservice.service.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent UserService requests: if the first attempt has not answered within the
+ * observed {@code userservice.hedging.percentile} latency (at least {@code min-delay}), an identical
+ * second attempt is sent and whichever succeeds first wins. Hedges are paid from a retry budget that
+ * earns {@code budget-ratio} tokens per request, up to {@code budget-burst}, so hedging stays a fixed
+ * fraction of normal traffic and cannot amplify an outage.
+ */
+@Component
+public class RequestHedger {
+
+    public static final String LATENCY_METRIC = "userservice.hedging.latency";
+    public static final String HEDGES_METRIC = "userservice.hedging.hedges";
+    public static final String WINS_METRIC = "userservice.hedging.wins";
+    public static final String BUDGET_EXHAUSTED_METRIC = "userservice.hedging.budget.exhausted";
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final RetryBudget budget;
+    private final Timer latency;
+    private final Counter hedges;
+    private final Counter wins;
+    private final Counter budgetExhausted;
+    private final ExecutorService executor;
+
+    public RequestHedger(MeterRegistry meterRegistry,
+                         @Value("${userservice.hedging.enabled}") boolean enabled,
+                         @Value("${userservice.hedging.percentile}") double percentile,
+                         @Value("${userservice.hedging.min-delay}") Duration minDelay,
+                         @Value("${userservice.hedging.budget-ratio}") double budgetRatio,
+                         @Value("${userservice.hedging.budget-burst}") double budgetBurst) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.budget = new RetryBudget(budgetRatio, budgetBurst);
+        this.latency = Timer.builder(LATENCY_METRIC)
+                .description("Latency of first attempts, used to derive the hedging delay")
+                .publishPercentiles(percentile)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.hedges = Counter.builder(HEDGES_METRIC).description("Hedged requests sent").register(meterRegistry);
+        this.wins = Counter.builder(WINS_METRIC).description("Hedged requests that answered first").register(meterRegistry);
+        this.budgetExhausted = Counter.builder(BUDGET_EXHAUSTED_METRIC)
+                .description("Hedges skipped because the retry budget was exhausted")
+                .register(meterRegistry);
+        this.executor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        budget.deposit();
+
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> latency.record(call), executor);
+        try {
+            return primary.get(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return hedge(primary, call);
+        } catch (ExecutionException e) {
+            return FutureUtils.join(primary);
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration hedgeDelay() {
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                Duration observed = Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+                return observed.compareTo(minDelay) > 0 ? observed : minDelay;
+            }
+        }
+        return minDelay;
+    }
+
+    public double availableBudget() {
+        return budget.available();
+    }
+
+    private <T> T hedge(CompletableFuture<T> primary, Supplier<T> call) {
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.increment();
+            return FutureUtils.join(primary);
+        }
+        hedges.increment();
+
+        CompletableFuture<T> hedged = CompletableFuture.supplyAsync(call, executor);
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, failure) -> complete(first, value, failure, failures));
+        hedged.whenComplete((value, failure) -> {
+            if (complete(first, value, failure, failures)) {
+                wins.increment();
+            }
+        });
+
+        try {
+            return FutureUtils.join(first);
+        } finally {
+            primary.cancel(true);
+            hedged.cancel(true);
+        }
+    }
+
+    /**
+     * Completes {@code first} with the first successful value, or with the last failure once both
+     * attempts failed. Returns whether this attempt supplied the result.
+     */
+    private static <T> boolean complete(CompletableFuture<T> first, T value, Throwable failure, AtomicInteger failures) {
+        if (failure == null) {
+            return first.complete(value);
+        }
+        if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(failure instanceof CompletionException ? failure.getCause() : failure);
+        }
+        return false;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class RetryBudget {
+
+        private final double ratio;
+        private final double maxTokens;
+        private double tokens;
+
+        RetryBudget(double ratio, double maxTokens) {
+            this.ratio = ratio;
+            this.maxTokens = maxTokens;
+        }
+
+        synchronized void deposit() {
+            tokens = Math.min(maxTokens, tokens + ratio);
+        }
+
+        synchronized boolean tryWithdraw() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized double available() {
+            return tokens;
+        }
+    }
+}
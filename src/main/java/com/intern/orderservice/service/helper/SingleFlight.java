@@ -0,0 +1,41 @@
+package com.intern.orderservice.service.helper;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call, callers arriving
+ * while it is in flight wait for it and share its result or exception. Each such waiter is counted.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedWaiters;
+
+    public SingleFlight(Counter coalescedWaiters) {
+        this.coalescedWaiters = coalescedWaiters;
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedWaiters.increment();
+            return FutureUtils.join(existing);
+        }
+
+        try {
+            V value = call.get();
+            created.complete(value);
+            return value;
+        } catch (Throwable t) {
+            created.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.intern.orderservice.service.helper;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Resolves users with one call per id, running the calls concurrently on virtual threads.
+ * At most {@code userservice.fan-out.max-in-flight} calls run at once across all batches, and a
+ * batch never waits longer than {@code userservice.fan-out.deadline}: users not resolved by then are
+ * mapped to {@link #UNRESOLVED_USER}, so that their orders are still listed. The caller's
+ * SecurityContext is propagated to the worker threads.
+ */
+@Component
+@Slf4j
+public class UserFanOutHelper {
+
+    // placeholder like the NotFound one of UserApiServiceImpl, never cached
+    public static final UserResponse UNRESOLVED_USER =
+            new UserResponse(null, HttpStatus.GATEWAY_TIMEOUT.toString(), null, null, null);
+
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final Duration deadline;
+
+    public UserFanOutHelper(@Value("${userservice.fan-out.max-in-flight}") int maxInFlight,
+                            @Value("${userservice.fan-out.deadline}") Duration deadline) {
+        this.executor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+        this.inFlight = new Semaphore(maxInFlight);
+        this.deadline = deadline;
+    }
+
+    public Map<Long, UserResponse> fetchAll(Collection<Long> userIds, Function<Long, UserResponse> loader) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        Map<Long, Future<UserResponse>> futures = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            futures.put(userId, executor.submit(() -> load(userId, loader, deadlineNanos)));
+        }
+
+        Map<Long, UserResponse> usersById = new HashMap<>();
+        try {
+            for (Map.Entry<Long, Future<UserResponse>> entry : futures.entrySet()) {
+                try {
+                    UserResponse user = entry.getValue().get(remaining(deadlineNanos), TimeUnit.NANOSECONDS);
+                    if (user != null) {
+                        usersById.put(entry.getKey(), user);
+                    }
+                } catch (TimeoutException e) {
+                    log.warn("User with id: {} not resolved within {}", entry.getKey(), deadline);
+                    usersById.put(entry.getKey(), UNRESOLVED_USER);
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            futures.values().forEach(future -> future.cancel(true));
+        }
+        return usersById;
+    }
+
+    private UserResponse load(Long userId, Function<Long, UserResponse> loader, long deadlineNanos)
+            throws InterruptedException {
+        if (!inFlight.tryAcquire(remaining(deadlineNanos), TimeUnit.NANOSECONDS)) {
+            log.warn("User with id: {} not resolved within {}", userId, deadline);
+            return UNRESOLVED_USER;
+        }
+        try {
+            return loader.apply(userId);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    public static boolean isUnresolved(UserResponse user) {
+        return UNRESOLVED_USER.equals(user);
+    }
+
+    private static long remaining(long deadlineNanos) {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,139 @@
+package com.intern.orderservice.service.helper;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.AuthorizationService;
+import com.intern.orderservice.service.UserApiService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects single-user lookups by id from all concurrent requests into micro-batches resolved with one
+ * bulk UserService call. The first caller of a batch waits {@code userservice.micro-batch.window} and then
+ * sends it, unless the batch reached {@code max-size} and was already sent by the caller that filled it.
+ * Batches are sent on request threads, so the bulk call carries the credentials of the caller sending it;
+ * lookups are therefore batched per bearer token, and a request never runs under another caller's
+ * credentials nor fails because another caller was rejected. Requires the UserService batch endpoint.
+ */
+@Component
+@Slf4j
+public class UserMicroBatcher {
+
+    public static final String BATCH_SIZE_METRIC = "userservice.microbatch.size";
+
+    private final UserApiService delegate;
+    private final AuthorizationService authorizationService;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxSize;
+    private final DistributionSummary batchSizes;
+
+    /** open batch per bearer token, null for callers without one */
+    private final Map<String, Batch> current = new HashMap<>();
+
+    private static class Batch {
+        private final String token;
+        private final Map<Long, CompletableFuture<UserResponse>> pending = new LinkedHashMap<>();
+
+        private Batch(String token) {
+            this.token = token;
+        }
+    }
+
+    public UserMicroBatcher(@Qualifier("userApiServiceImpl") UserApiService delegate,
+                            AuthorizationService authorizationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${userservice.micro-batch.enabled}") boolean enabled,
+                            @Value("${userservice.micro-batch.window}") Duration window,
+                            @Value("${userservice.micro-batch.max-size}") int maxSize) {
+        this.delegate = delegate;
+        this.authorizationService = authorizationService;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxSize = maxSize;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Ids per micro-batched UserService bulk request")
+                .baseUnit("users")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) maxSize)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public UserResponse getUserById(Long userId) {
+        String token = authorizationService.getTokenValue();
+        Batch batch;
+        CompletableFuture<UserResponse> future;
+        boolean first;
+        boolean full;
+        synchronized (this) {
+            batch = current.get(token);
+            first = batch == null;
+            if (first) {
+                batch = new Batch(token);
+                current.put(token, batch);
+            }
+            future = batch.pending.computeIfAbsent(userId, id -> new CompletableFuture<>());
+            full = batch.pending.size() >= maxSize;
+            if (full) {
+                current.remove(token);
+            }
+        }
+
+        if (full) {
+            dispatch(batch);
+        } else if (first) {
+            awaitWindow(future);
+            if (take(batch)) {
+                dispatch(batch);
+            }
+        }
+        return FutureUtils.join(future);
+    }
+
+    private synchronized boolean take(Batch batch) {
+        // false if the batch filled up and was already sent by another caller
+        return current.remove(batch.token, batch);
+    }
+
+    private void awaitWindow(CompletableFuture<UserResponse> future) {
+        // returns early if the batch filled up and was sent by another caller
+        try {
+            future.get(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // window elapsed, or the batch was sent and failed which join reports
+        } catch (InterruptedException e) {
+            // send what has been collected so far, the waiters must not be left hanging
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        List<Long> userIds = List.copyOf(batch.pending.keySet());
+        batchSizes.record(userIds.size());
+        log.debug("Sending micro-batch of {} user ids", userIds.size());
+        try {
+            Map<Long, UserResponse> usersById = delegate.getUsersByIds(userIds);
+            batch.pending.forEach((userId, future) -> future.complete(usersById.get(userId)));
+        } catch (RuntimeException e) {
+            batch.pending.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.intern.orderservice.service.helper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * Opens {@code userservice.http.prewarm-connections} keep-alive connections to UserService once the
+ * application is ready, so the first user lookups do not pay for TCP/TLS handshakes. Requests are
+ * sent concurrently to make the pool open distinct connections; failures are only logged.
+ */
+@Component
+@Slf4j
+public class UserServiceConnectionPrewarmer {
+
+    private final CloseableHttpClient httpClient;
+    private final String userServiceUrl;
+    private final int connections;
+
+    public UserServiceConnectionPrewarmer(CloseableHttpClient userServiceHttpClient,
+                                          @Value("${userservice.baseurl}") String userServiceUrl,
+                                          @Value("${userservice.http.prewarm-connections}") int connections) {
+        this.httpClient = userServiceHttpClient;
+        this.userServiceUrl = userServiceUrl;
+        this.connections = connections;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (connections <= 0) {
+            return;
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, connections).forEach(i -> executor.submit(this::openConnection));
+        }
+        log.info("Prewarmed {} connections to UserService at {}", connections, userServiceUrl);
+    }
+
+    private void openConnection() {
+        try {
+            httpClient.execute(new HttpHead(userServiceUrl), response -> {
+                EntityUtils.consume(response.getEntity());
+                return response.getCode();
+            });
+        } catch (Exception e) {
+            log.warn("Failed to prewarm connection to UserService at {}: {}", userServiceUrl, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.intern.orderservice.service.helper;
+
+import com.intern.orderservice.dto.projection.OrderLineProjection;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.mapper.OrderMapper;
+import com.intern.orderservice.model.Order;
+import com.intern.orderservice.model.UserSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * With {@code userservice.snapshot.enabled}, orders store a snapshot of their user when created
+ * and responses are built from it instead of calling UserService. Orders without a snapshot, created
+ * before the mode was enabled and not backfilled yet, still resolve their user remotely.
+ */
+@Component
+public class UserSnapshotHelper {
+
+    private final OrderMapper orderMapper;
+    private final boolean enabled;
+
+    public UserSnapshotHelper(OrderMapper orderMapper,
+                              @Value("${userservice.snapshot.enabled}") boolean enabled) {
+        this.orderMapper = orderMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void takeSnapshot(Order order, UserResponse user) {
+        if (!enabled || user == null || user.id() == null) {
+            return;
+        }
+        UserSnapshot snapshot = orderMapper.toUserSnapshot(user);
+        snapshot.setTakenAt(LocalDateTime.now());
+        order.setUserSnapshot(snapshot);
+    }
+
+    /**
+     * Returns the order's user as of its snapshot, or null if the mode is off or the order has none.
+     */
+    public UserResponse getSnapshotUser(Order order) {
+        return enabled ? orderMapper.toSnapshotUser(order) : null;
+    }
+
+    public UserResponse getSnapshotUser(OrderLineProjection line) {
+        return enabled ? orderMapper.toSnapshotUser(line) : null;
+    }
+}
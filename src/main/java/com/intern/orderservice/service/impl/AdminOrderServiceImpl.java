@@ -1,114 +1,255 @@
 package com.intern.orderservice.service.impl;
 
+import com.intern.orderservice.dto.projection.OrderLineProjection;
+import com.intern.orderservice.dto.request.BulkUpdateOrderStatusRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.BulkCreateOrderResponse;
+import com.intern.orderservice.dto.response.BulkOrderResult;
+import com.intern.orderservice.dto.response.BulkUpdateOrderStatusResponse;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.exception.ItemsNotFoundException;
+import com.intern.orderservice.exception.OrderStatusConflictException;
 import com.intern.orderservice.mapper.OrderMapper;
-import com.intern.orderservice.model.Order;
+import com.intern.orderservice.model.Item;
 import com.intern.orderservice.model.enums.OrderStatus;
 import com.intern.orderservice.repository.OrderRepository;
 import com.intern.orderservice.service.AdminOrderService;
+import com.intern.orderservice.service.AsyncUserApiService;
 import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.FutureUtils;
 import com.intern.orderservice.service.helper.OrderCreationHelper;
+import com.intern.orderservice.service.helper.OrderPageHelper;
+import com.intern.orderservice.service.helper.UserFanOutHelper;
+import com.intern.orderservice.service.helper.UserSnapshotHelper;
 import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Slf4j
 public class AdminOrderServiceImpl implements AdminOrderService {
 
     private final OrderRepository orderRepository;
     private final OrderCreationHelper orderCreationHelper;
     private final OrderMapper orderMapper;
     private final UserApiService userApiService;
+    private final AsyncUserApiService asyncUserApiService;
+    private final UserSnapshotHelper userSnapshotHelper;
+    private final OrderPageHelper orderPageHelper;
+    private final int bulkChunkSize;
 
 
     @Autowired
-    public AdminOrderServiceImpl(OrderRepository orderRepository, OrderCreationHelper orderCreationHelper, OrderMapper orderMapper, UserApiService userApiService) {
+    public AdminOrderServiceImpl(OrderRepository orderRepository, OrderCreationHelper orderCreationHelper, OrderMapper orderMapper, UserApiService userApiService, AsyncUserApiService asyncUserApiService, UserSnapshotHelper userSnapshotHelper, OrderPageHelper orderPageHelper,
+                                 @Value("${orders.bulk.chunk-size}") int bulkChunkSize) {
         this.orderRepository = orderRepository;
         this.orderCreationHelper = orderCreationHelper;
         this.orderMapper = orderMapper;
         this.userApiService = userApiService;
+        this.asyncUserApiService = asyncUserApiService;
+        this.userSnapshotHelper = userSnapshotHelper;
+        this.orderPageHelper = orderPageHelper;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
 
     @Transactional(readOnly = true)
     @Override
     public Optional<OrderUserResponse> getOrderById(Long id) {
-        return orderRepository.findById(id)
-                .map(this::fetchUserThenMap);
+        List<OrderLineProjection> lines = orderRepository.findLinesById(id);
+        if (lines.isEmpty()) {
+            return Optional.empty();
+        }
+        OrderLineProjection first = lines.getFirst();
+        UserResponse snapshotUser = userSnapshotHelper.getSnapshotUser(first);
+        UserResponse user = snapshotUser != null ? snapshotUser : userApiService.getUserById(first.userId());
+        return orderMapper.toOrderUserResponses(lines, line -> user).stream().findFirst();
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<OrderUserResponse> getOrdersByIds(Collection<Long> ids) {
-        List<Order> orders = orderRepository.findAllById(ids);
-        Map<Long, UserResponse> usersById = fetchUsersMapFromOrders(orders);
-        return mapValidOrderUserResponses(orders, usersById);
+    public CursorPageResponse<OrderUserResponse> getOrdersByIds(Collection<Long> ids, CursorPageRequest pageRequest) {
+        return orderPageHelper.readPage(pageRequest,
+                (beforeDate, beforeId, limit) -> orderRepository.findPageLinesByIdIn(ids, beforeDate, beforeId, limit),
+                this::mapValidOrderUserResponses);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<OrderUserResponse> getOrdersByStatuses(Collection<OrderStatus> statuses) {
-        List<Order> orders = orderRepository.findAllByStatusIn(statuses);
-        Map<Long, UserResponse> usersById = fetchUsersMapFromOrders(orders);
-        return mapValidOrderUserResponses(orders, usersById);
+    public CursorPageResponse<OrderUserResponse> getOrdersByStatuses(Collection<OrderStatus> statuses, CursorPageRequest pageRequest) {
+        return orderPageHelper.readPage(pageRequest,
+                (beforeDate, beforeId, limit) -> orderRepository.findPageLinesByStatusIn(statuses, beforeDate, beforeId, limit),
+                this::mapValidOrderUserResponses);
     }
 
     @Override
     public OrderUserResponse createOrder(CreateOrderRequest request) {
-        UserResponse userById = userApiService.getUserById(request.userId());
+        // the user fetch and the item query are independent, run them concurrently
+        CompletableFuture<UserResponse> userFuture = asyncUserApiService.getUserByIdAsync(request.userId());
+        Map<Long, Item> itemsById;
+        try {
+            itemsById = orderCreationHelper.findItemsById(request);
+        } catch (RuntimeException e) {
+            // the lookup runs with this request's attributes and must not outlive it
+            FutureUtils.awaitQuietly(userFuture);
+            throw e;
+        }
+
+        UserResponse userById = FutureUtils.join(userFuture);
         if (userById == null || userById.id() == null) {
             throw new EntityNotFoundException("User with id: " + request.userId() + " not found");
         }
-        return orderCreationHelper.createOrderFromRequestAndUser(request, userById);
+        return orderCreationHelper.createOrder(request, itemsById, userById);
+    }
+
+    /**
+     * Resolves the users of all requests with one bulk lookup and their items with one query, then
+     * creates the valid orders in transactions of {@code orders.bulk.chunk-size} orders. When a chunk
+     * fails, its orders are retried one by one so that only the failing ones are reported.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public BulkCreateOrderResponse createOrders(List<CreateOrderRequest> requests) {
+        Set<Long> userIds = requests.stream()
+                .map(CreateOrderRequest::userId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, UserResponse> usersById = userIds.isEmpty() ? Map.of() : userApiService.getUsersByIds(userIds);
+        Map<Long, Item> itemsById = orderCreationHelper.findItemsById(requests);
+
+        BulkOrderResult[] results = new BulkOrderResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest request = requests.get(i);
+            UserResponse user = request.userId() == null ? null : usersById.get(request.userId());
+            Set<Long> missingItemIds = orderCreationHelper.findMissingItemIds(request, itemsById);
+            if (request.userId() == null) {
+                results[i] = BulkOrderResult.failed(i, HttpStatus.BAD_REQUEST, "userId must be provided");
+            } else if (UserFanOutHelper.isUnresolved(user)) {
+                results[i] = BulkOrderResult.failed(i, HttpStatus.SERVICE_UNAVAILABLE, "User with id: " + request.userId() + " could not be resolved");
+            } else if (user == null || user.id() == null) {
+                results[i] = BulkOrderResult.failed(i, HttpStatus.NOT_FOUND, "User with id: " + request.userId() + " not found");
+            } else if (!missingItemIds.isEmpty()) {
+                results[i] = BulkOrderResult.failed(i, HttpStatus.NOT_FOUND, new ItemsNotFoundException(missingItemIds).getMessage());
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += bulkChunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + bulkChunkSize, valid.size()));
+            try {
+                createChunk(requests, chunk, itemsById, usersById, results);
+            } catch (RuntimeException e) {
+                log.warn("Bulk order chunk of {} orders failed, retrying one by one: {}", chunk.size(), e.getMessage());
+                for (Integer index : chunk) {
+                    try {
+                        createChunk(requests, List.of(index), itemsById, usersById, results);
+                    } catch (RuntimeException orderFailure) {
+                        // the message of a persistence failure names tables and constraints, keep it in the log
+                        log.error("Bulk order at index {} could not be created", index, orderFailure);
+                        results[index] = BulkOrderResult.failed(index, HttpStatus.INTERNAL_SERVER_ERROR, "Order could not be created");
+                    }
+                }
+            }
+        }
+        return BulkCreateOrderResponse.of(List.of(results));
     }
 
     @Override
     public OrderUserResponse updateOrderStatusById(Long id, UpdateOrderStatusRequest request) {
-        Order order = orderRepository.findById(id)
+        if (orderRepository.updateStatusById(id, request.status(), OrderStatus.TERMINAL) == 0) {
+            OrderStatus current = orderRepository.findStatusById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Order with id " + id + " not found"));
+            throw new OrderStatusConflictException(id, current);
+        }
+
+        return getOrderById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order with id " + id + " not found"));
+    }
 
-        order.setStatus(request.status());
-        Order updated = orderRepository.save(order);
+    /**
+     * Moves the orders with one UPDATE, without loading them. Orders in a terminal status are skipped.
+     * The updated orders are only read back, with one query and one UserService batch call, when
+     * {@code includeOrders} is set.
+     */
+    @Override
+    public BulkUpdateOrderStatusResponse updateOrdersStatus(BulkUpdateOrderStatusRequest request, boolean includeOrders) {
+        Set<Long> ids = new LinkedHashSet<>(request.ids());
+        List<String> terminal = OrderStatus.TERMINAL.stream().map(OrderStatus::name).toList();
+        List<Long> updatedIds = request.expectedStatus() == null
+                ? orderRepository.updateStatusByIdIn(ids, request.status().name(), terminal)
+                : orderRepository.updateStatusByIdInAndStatus(ids, request.status().name(), request.expectedStatus().name(), terminal);
+
+        Set<Long> updated = new HashSet<>(updatedIds);
+        List<Long> skipped = ids.stream()
+                .filter(id -> !updated.contains(id))
+                .toList();
+        List<OrderUserResponse> orders = null;
+        if (includeOrders) {
+            orders = updatedIds.isEmpty() ? List.of() : mapValidOrderUserResponses(orderRepository.findLinesByIdIn(updatedIds));
+        }
 
-        return fetchUserThenMap(updated);
+        return new BulkUpdateOrderStatusResponse(updatedIds.size(), skipped, orders);
     }
 
     @Override
     public void deleteOrderById(Long id) {
-        if (!orderRepository.existsById(id)) {
+        if (orderRepository.deleteOrderById(id) == 0) {
             throw new EntityNotFoundException("Order with id " + id + " not found");
         }
-        orderRepository.deleteById(id);
     }
 
-    private List<OrderUserResponse> mapValidOrderUserResponses(List<Order> orders, Map<Long, UserResponse> usersById) {
-        return orders.stream()
-                .map(o -> orderMapper.toOrderUserResponseList(o, usersById))
-                .filter(o -> o.user() != null)
-                .toList();
+    private void createChunk(List<CreateOrderRequest> requests, List<Integer> chunk, Map<Long, Item> itemsById,
+                             Map<Long, UserResponse> usersById, BulkOrderResult[] results) {
+        List<OrderUserResponse> created = orderCreationHelper.createOrders(
+                chunk.stream().map(requests::get).toList(), itemsById, usersById);
+        for (int i = 0; i < chunk.size(); i++) {
+            results[chunk.get(i)] = BulkOrderResult.created(chunk.get(i), created.get(i));
+        }
     }
 
-    private Map<Long, UserResponse> fetchUsersMapFromOrders(List<Order> orders) {
-        ConcurrentHashMap<Long, UserResponse> usersById = new ConcurrentHashMap<>();
-        orders.stream()
-                .map(Order::getUserId)
-                .forEach(userId -> usersById.computeIfAbsent(userId, userApiService::getUserById));
-        return usersById;
+    private List<OrderUserResponse> mapValidOrderUserResponses(List<OrderLineProjection> lines) {
+        Map<Long, UserResponse> usersById = fetchUsersMapFromLines(lines);
+        return orderMapper.toOrderUserResponses(lines, line -> {
+                    UserResponse snapshotUser = userSnapshotHelper.getSnapshotUser(line);
+                    return snapshotUser != null ? snapshotUser : usersById.get(line.userId());
+                }).stream()
+                .filter(o -> o.user() != null)
+                .toList();
     }
 
-    private OrderUserResponse fetchUserThenMap(Order order) {
-        UserResponse userById = userApiService.getUserById(order.getUserId());
-        return orderMapper.toOrderUserResponse(order, userById);
+    private Map<Long, UserResponse> fetchUsersMapFromLines(List<OrderLineProjection> lines) {
+        // orders with a user snapshot need no remote lookup
+        Set<Long> userIds = lines.stream()
+                .filter(line -> userSnapshotHelper.getSnapshotUser(line) == null)
+                .map(OrderLineProjection::userId)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userApiService.getUsersByIds(userIds);
     }
 }
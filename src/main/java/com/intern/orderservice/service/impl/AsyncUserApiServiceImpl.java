@@ -0,0 +1,67 @@
+package com.intern.orderservice.service.impl;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.AsyncUserApiService;
+import com.intern.orderservice.service.CurrentUserService;
+import com.intern.orderservice.service.UserApiService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs user lookups on virtual threads so callers can overlap them with independent work such as
+ * repository queries. Lookups go through the same {@link UserApiService} and {@link CurrentUserService}
+ * beans as synchronous callers, so caching and circuit-breaker behaviour is unchanged.
+ * The caller's SecurityContext and request attributes are visible to the lookup and are detached
+ * from the worker when it finishes, whether it succeeds or throws; callers must join, or at least
+ * await, the returned future before their request completes.
+ */
+@Service
+public class AsyncUserApiServiceImpl implements AsyncUserApiService {
+
+    private final UserApiService userApiService;
+    private final CurrentUserService currentUserService;
+    private final ExecutorService executor;
+
+    @Autowired
+    public AsyncUserApiServiceImpl(UserApiService userApiService, CurrentUserService currentUserService) {
+        this.userApiService = userApiService;
+        this.currentUserService = currentUserService;
+        this.executor = new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Override
+    public CompletableFuture<UserResponse> getUserByIdAsync(Long userId) {
+        return supplyAsync(() -> userApiService.getUserById(userId));
+    }
+
+    @Override
+    public CompletableFuture<UserResponse> getCurrentUserByEmailAsync(String email) {
+        return supplyAsync(() -> currentUserService.getUserByEmail(email));
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return CompletableFuture.supplyAsync(() -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return supplier.get();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }, executor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
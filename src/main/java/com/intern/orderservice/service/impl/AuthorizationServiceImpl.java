@@ -6,6 +6,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 public class AuthorizationServiceImpl implements AuthorizationService {
 
@@ -43,5 +45,25 @@ public class AuthorizationServiceImpl implements AuthorizationService {
 
         return jwt.getClaimAsString(CLAIM);
     }
-}
 
+    @Override public String getTokenValue() {
+        Jwt jwt = getJwt();
+        if (jwt == null) return null;
+
+        return jwt.getTokenValue();
+    }
+
+    @Override public String getSubject() {
+        Jwt jwt = getJwt();
+        if (jwt == null) return null;
+
+        return jwt.getSubject();
+    }
+
+    @Override public Instant getExpiresAt() {
+        Jwt jwt = getJwt();
+        if (jwt == null) return null;
+
+        return jwt.getExpiresAt();
+    }
+}
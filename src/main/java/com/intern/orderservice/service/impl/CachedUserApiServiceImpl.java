@@ -0,0 +1,257 @@
+package com.intern.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.LastKnownUserStore;
+import com.intern.orderservice.service.helper.SingleFlight;
+import com.intern.orderservice.service.helper.UserFanOutHelper;
+import com.intern.orderservice.service.helper.UserMicroBatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caching front for {@link UserApiServiceImpl}. Lookups are served from local size- and
+ * TTL-bounded caches; only misses reach the circuit-breaker protected remote client.
+ * NotFound placeholders returned by the fallback are cached with a shorter TTL.
+ * Bulk lookups send the misses to the remote client in chunks of {@code userservice.batch-size},
+ * or, in {@link LookupMode#FAN_OUT} mode, as concurrent single-user calls via {@link UserFanOutHelper}.
+ * Concurrent misses for the same id or email are coalesced into one remote call; with
+ * {@code userservice.micro-batch.enabled}, misses for different ids are batched by {@link UserMicroBatcher}.
+ * While UserService is unavailable, users are served from the {@link LastKnownUserStore}; such stale
+ * users are not put into the caches and are reloaded by the next read once UserService is back.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachedUserApiServiceImpl implements UserApiService {
+
+    public static final String USERS_BY_ID_CACHE = "usersById";
+    public static final String USERS_BY_EMAIL_CACHE = "usersByEmail";
+    public static final String COALESCED_METRIC = "userservice.requests.coalesced";
+
+    public enum LookupMode {
+        /** one request per chunk of ids, requires the UserService batch endpoint */
+        BULK,
+        /** concurrent single-user requests */
+        FAN_OUT
+    }
+
+    private final UserApiService delegate;
+    private final Cache<Long, UserResponse> usersById;
+    private final Cache<String, UserResponse> usersByEmail;
+    private final SingleFlight<Long, Lookup> byIdFlight;
+    private final SingleFlight<String, Lookup> byEmailFlight;
+    private final int batchSize;
+    private final LookupMode lookupMode;
+    private final UserFanOutHelper fanOutHelper;
+    private final LastKnownUserStore lastKnownUserStore;
+    private final UserMicroBatcher microBatcher;
+
+    private record Lookup(UserResponse user, boolean stale) {
+    }
+
+    @Autowired
+    public CachedUserApiServiceImpl(
+            @Qualifier("userApiServiceImpl") UserApiService delegate,
+            MeterRegistry meterRegistry,
+            @Value("${userservice.cache.maximum-size}") long maximumSize,
+            @Value("${userservice.cache.ttl}") Duration ttl,
+            @Value("${userservice.cache.not-found-ttl}") Duration notFoundTtl,
+            @Value("${userservice.batch-size}") int batchSize,
+            @Value("${userservice.lookup-mode}") LookupMode lookupMode,
+            UserFanOutHelper fanOutHelper,
+            LastKnownUserStore lastKnownUserStore,
+            UserMicroBatcher microBatcher
+    ) {
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.lookupMode = lookupMode;
+        this.fanOutHelper = fanOutHelper;
+        this.lastKnownUserStore = lastKnownUserStore;
+        this.microBatcher = microBatcher;
+        this.usersById = buildCache(maximumSize, ttl, notFoundTtl);
+        this.usersByEmail = buildCache(maximumSize, ttl, notFoundTtl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, USERS_BY_ID_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, USERS_BY_EMAIL_CACHE);
+
+        this.byIdFlight = new SingleFlight<>(coalescedCounter(meterRegistry, "getUserById"));
+        this.byEmailFlight = new SingleFlight<>(coalescedCounter(meterRegistry, "getUserByEmail"));
+    }
+
+    @Override
+    public UserResponse getUserById(Long userId) {
+        UserResponse cached = usersById.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        return unwrap(byIdFlight.execute(userId, () -> loadUserById(userId)));
+    }
+
+    @Override
+    public UserResponse getUserByEmail(String email) {
+        UserResponse cached = usersByEmail.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        return unwrap(byEmailFlight.execute(email, () -> loadUserByEmail(email)));
+    }
+
+    @Override
+    public UserResponse getUserByIdFallback(Long userId, RuntimeException t) {
+        return delegate.getUserByIdFallback(userId, t);
+    }
+
+    @Override
+    public Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        Map<Long, UserResponse> usersByIds = new HashMap<>(usersById.getAllPresent(distinctIds));
+
+        List<Long> misses = distinctIds.stream()
+                .filter(userId -> !usersByIds.containsKey(userId))
+                .toList();
+        if (misses.isEmpty()) {
+            return usersByIds;
+        }
+
+        if (lookupMode == LookupMode.FAN_OUT) {
+            // workers must not touch the request, so staleness is collected and marked here
+            AtomicBoolean stale = new AtomicBoolean();
+            usersByIds.putAll(fanOutHelper.fetchAll(misses, userId -> {
+                Lookup lookup = byIdFlight.execute(userId, () -> loadUserById(userId));
+                if (lookup.stale()) {
+                    stale.set(true);
+                }
+                return lookup.user();
+            }));
+            if (stale.get()) {
+                lastKnownUserStore.markResponseStale();
+            }
+            return usersByIds;
+        }
+
+        for (int from = 0; from < misses.size(); from += batchSize) {
+            List<Long> chunk = misses.subList(from, Math.min(from + batchSize, misses.size()));
+            usersByIds.putAll(loadUsersByIds(chunk));
+        }
+        return usersByIds;
+    }
+
+    @Override
+    public Map<Long, UserResponse> getUsersByIdsFallback(Collection<Long> userIds, RuntimeException t) {
+        return delegate.getUsersByIdsFallback(userIds, t);
+    }
+
+    /**
+     * Drops the user from the id and email caches only, see {@code UserCacheServiceImpl} for the other
+     * caches holding users.
+     */
+    public void evictUser(Long userId) {
+        usersById.invalidate(userId);
+        usersByEmail.asMap().values().removeIf(user -> userId.equals(user.id()));
+    }
+
+    private Lookup loadUserById(Long userId) {
+        try {
+            UserResponse user = microBatcher.isEnabled() ? microBatcher.getUserById(userId) : delegate.getUserById(userId);
+            cacheUserById(userId, user);
+            return new Lookup(user, false);
+        } catch (RuntimeException e) {
+            UserResponse stale = LastKnownUserStore.isUnavailable(e) ? lastKnownUserStore.getStaleById(userId) : null;
+            if (stale == null) {
+                throw e;
+            }
+            log.warn("UserService unavailable ({}), serving stale user with id: {}", e.getClass().getSimpleName(), userId);
+            return new Lookup(stale, true);
+        }
+    }
+
+    private Lookup loadUserByEmail(String email) {
+        try {
+            UserResponse user = delegate.getUserByEmail(email);
+            cacheUserByEmail(email, user);
+            return new Lookup(user, false);
+        } catch (RuntimeException e) {
+            UserResponse stale = LastKnownUserStore.isUnavailable(e) ? lastKnownUserStore.getStaleByEmail(email) : null;
+            if (stale == null) {
+                throw e;
+            }
+            log.warn("UserService unavailable ({}), serving stale user with email: {}", e.getClass().getSimpleName(), email);
+            return new Lookup(stale, true);
+        }
+    }
+
+    private Map<Long, UserResponse> loadUsersByIds(List<Long> userIds) {
+        try {
+            Map<Long, UserResponse> loaded = delegate.getUsersByIds(userIds);
+            loaded.forEach(this::cacheUserById);
+            return loaded;
+        } catch (RuntimeException e) {
+            Map<Long, UserResponse> stale = LastKnownUserStore.isUnavailable(e) ? lastKnownUserStore.getStaleByIds(userIds) : Map.of();
+            if (stale.isEmpty()) {
+                throw e;
+            }
+            log.warn("UserService unavailable ({}), serving {} of {} users stale", e.getClass().getSimpleName(), stale.size(), userIds.size());
+            lastKnownUserStore.markResponseStale();
+            return stale;
+        }
+    }
+
+    private UserResponse unwrap(Lookup lookup) {
+        if (lookup.stale()) {
+            lastKnownUserStore.markResponseStale();
+        }
+        return lookup.user();
+    }
+
+    private void cacheUserById(Long userId, UserResponse user) {
+        if (user != null) {
+            usersById.put(userId, user);
+            lastKnownUserStore.remember(user);
+        }
+    }
+
+    private void cacheUserByEmail(String email, UserResponse user) {
+        if (user != null) {
+            usersByEmail.put(email, user);
+            if (user.id() != null) {
+                usersById.put(user.id(), user);
+            }
+            lastKnownUserStore.remember(user);
+        }
+    }
+
+    private static Counter coalescedCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder(COALESCED_METRIC)
+                .description("Callers that waited for an in-flight UserService request instead of sending their own")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static <K> Cache<K, UserResponse> buildCache(long maximumSize, Duration ttl, Duration notFoundTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<K, UserResponse>writing((key, user) -> isNotFound(user) ? notFoundTtl : ttl))
+                .recordStats()
+                .build();
+    }
+
+    private static boolean isNotFound(UserResponse user) {
+        // placeholder produced by UserApiServiceImpl#getUserByIdFallback for 404 responses
+        return user.id() == null;
+    }
+}
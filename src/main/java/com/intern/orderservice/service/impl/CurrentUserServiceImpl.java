@@ -0,0 +1,97 @@
+package com.intern.orderservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.AuthorizationService;
+import com.intern.orderservice.service.CurrentUserService;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.LastKnownUserStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Resolves the caller's email claim to a user. The result is cached per token (subject and email)
+ * until the token's {@code exp} claim, so repeated requests with the same JWT need no UserService
+ * call. Users served stale while UserService is unavailable are not cached per token.
+ */
+@Service
+public class CurrentUserServiceImpl implements CurrentUserService {
+
+    public static final String CURRENT_USERS_CACHE = "currentUsers";
+
+    private final UserApiService userApiService;
+    private final AuthorizationService authorizationService;
+    private final LastKnownUserStore lastKnownUserStore;
+    private final Cache<String, TokenUser> usersByToken;
+
+    private record TokenUser(UserResponse user, Instant expiresAt) {
+    }
+
+    @Autowired
+    public CurrentUserServiceImpl(
+            UserApiService userApiService,
+            AuthorizationService authorizationService,
+            LastKnownUserStore lastKnownUserStore,
+            MeterRegistry meterRegistry,
+            @Value("${userservice.cache.maximum-size}") long maximumSize
+    ) {
+        this.userApiService = userApiService;
+        this.authorizationService = authorizationService;
+        this.lastKnownUserStore = lastKnownUserStore;
+        this.usersByToken = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, TokenUser>creating((key, tokenUser) -> untilExpiry(tokenUser.expiresAt())))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByToken, CURRENT_USERS_CACHE);
+    }
+
+    @Override
+    public UserResponse getUserByEmail(String email) {
+        String tokenKey = tokenKey(email);
+        if (tokenKey != null) {
+            TokenUser cached = usersByToken.getIfPresent(tokenKey);
+            if (cached != null) {
+                return cached.user();
+            }
+        }
+
+        UserResponse user = userApiService.getUserByEmail(email);
+        if (tokenKey != null && user != null && user.id() != null && !lastKnownUserStore.isResponseStale()) {
+            usersByToken.put(tokenKey, new TokenUser(user, authorizationService.getExpiresAt()));
+        }
+        return user;
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        usersByToken.asMap().values().removeIf(tokenUser -> userId.equals(tokenUser.user().id()));
+    }
+
+    /**
+     * Only the caller's own email is cached per token, and only when the token carries an expiry.
+     */
+    private String tokenKey(String email) {
+        String subject = authorizationService.getSubject();
+        Instant expiresAt = authorizationService.getExpiresAt();
+        if (subject == null || expiresAt == null || !Objects.equals(email, authorizationService.getEmail())) {
+            return null;
+        }
+        return subject + "|" + email;
+    }
+
+    private static Duration untilExpiry(Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -7,7 +7,10 @@ import com.intern.orderservice.mapper.ItemMapper;
 import com.intern.orderservice.model.Item;
 import com.intern.orderservice.repository.ItemRepository;
 import com.intern.orderservice.service.ItemService;
+import com.intern.orderservice.service.helper.ItemCatalogCache;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,44 +25,63 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
+    private final ItemCatalogCache itemCatalogCache;
+    private final EntityManager entityManager;
 
-    public ItemServiceImpl(ItemRepository itemRepository, ItemMapper itemMapper) {
+    public ItemServiceImpl(ItemRepository itemRepository, ItemMapper itemMapper, ItemCatalogCache itemCatalogCache,
+                           EntityManager entityManager) {
         this.itemRepository = itemRepository;
         this.itemMapper = itemMapper;
+        this.itemCatalogCache = itemCatalogCache;
+        this.entityManager = entityManager;
     }
 
     @Transactional(readOnly = true)
     @Override
     public Optional<ItemResponse> getById(Long id) {
-        return itemRepository.findById(id)
-                .map(itemMapper::toItemResponse);
+        return itemCatalogCache.get(id);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Page<ItemResponse> getAll(Pageable pageable) {
-        return itemRepository.findAll(pageable)
-                .map(itemMapper::toItemResponse);
+        return itemRepository.findAllResponses(pageable);
     }
 
+    /**
+     * The existence check answers the common case, a concurrent create of the same item is caught by the
+     * unique index on active items, hence the flush.
+     */
     @PreAuthorize("hasRole('admin')")
     @Override
     public ItemResponse create(CreateItemRequest request) {
-        if (itemRepository.existsByNameAndPrice(request.name(), request.price())) {
+        if (itemRepository.existsByNameAndPriceAndRetiredFalse(request.name(), request.price())) {
             throw new ItemAlreadyExistsException(request.name(), request.price());
         }
         Item item = itemMapper.toItem(request);
-        Item saved = itemRepository.save(item);
-        return itemMapper.toItemResponse(saved);
+        Item saved;
+        try {
+            saved = itemRepository.save(item);
+            entityManager.flush();
+        } catch (ConstraintViolationException e) {
+            throw new ItemAlreadyExistsException(request.name(), request.price());
+        }
+        ItemResponse response = itemMapper.toItemResponse(saved);
+        itemCatalogCache.put(response);
+        return response;
     }
 
+    /**
+     * Retires the item rather than deleting it: it disappears from listings and can no longer be ordered,
+     * while the orders that have it keep their lines.
+     */
     @PreAuthorize("hasRole('admin')")
     @Override
     public void delete(Long id) {
-        if (!itemRepository.existsById(id)) {
+        if (itemRepository.retireItemById(id) == 0) {
             throw new EntityNotFoundException("Item with id " + id + " not found");
         }
-        itemRepository.deleteById(id);
+        itemCatalogCache.invalidate(id);
     }
 }
 
@@ -0,0 +1,125 @@
+package com.intern.orderservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intern.orderservice.dto.projection.OrderLineProjection;
+import com.intern.orderservice.dto.response.OrderUserResponse;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.mapper.OrderMapper;
+import com.intern.orderservice.model.enums.OrderStatus;
+import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.OrderExportService;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.UserSnapshotHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders from a database cursor to the client in chunks of {@code orders.export.chunk-size} orders;
+ * only the current chunk is held in memory. Users of a chunk are resolved with one bulk lookup, orders
+ * with a user snapshot need none. Writes block while the client is slow, which stops the cursor from
+ * being advanced; a client disconnect fails the write and closes the cursor, ending the query.
+ */
+@Service
+@Slf4j
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final int NEWLINE = '\n';
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final UserApiService userApiService;
+    private final UserSnapshotHelper userSnapshotHelper;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public OrderExportServiceImpl(OrderRepository orderRepository,
+                                  OrderMapper orderMapper,
+                                  UserApiService userApiService,
+                                  UserSnapshotHelper userSnapshotHelper,
+                                  ObjectMapper objectMapper,
+                                  @Value("${orders.export.chunk-size}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.userApiService = userApiService;
+        this.userSnapshotHelper = userSnapshotHelper;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @PreAuthorize("hasRole('admin')")
+    @Transactional(readOnly = true)
+    @Override
+    public void exportOrdersByStatuses(Collection<OrderStatus> statuses, OutputStream out) throws IOException {
+        int exported = 0;
+        try (Stream<OrderLineProjection> lines = orderRepository.streamLinesByStatusIn(statuses)) {
+            List<OrderLineProjection> chunk = new ArrayList<>();
+            Long currentOrderId = null;
+            int ordersInChunk = 0;
+
+            Iterator<OrderLineProjection> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                OrderLineProjection line = iterator.next();
+                if (!line.orderId().equals(currentOrderId)) {
+                    // lines of an order are adjacent, a chunk never splits an order
+                    if (ordersInChunk == chunkSize) {
+                        exported += writeChunk(chunk, out);
+                        chunk.clear();
+                        ordersInChunk = 0;
+                    }
+                    currentOrderId = line.orderId();
+                    ordersInChunk++;
+                }
+                chunk.add(line);
+            }
+            exported += writeChunk(chunk, out);
+        } catch (IOException e) {
+            log.info("Order export aborted after {} orders: {}", exported, e.getMessage());
+            throw e;
+        }
+        log.info("Exported {} orders with statuses {}", exported, statuses);
+    }
+
+    private int writeChunk(List<OrderLineProjection> chunk, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Map<Long, UserResponse> usersById = fetchUsersMap(chunk);
+        List<OrderUserResponse> orders = orderMapper.toOrderUserResponses(chunk, line -> {
+            UserResponse snapshotUser = userSnapshotHelper.getSnapshotUser(line);
+            return snapshotUser != null ? snapshotUser : usersById.get(line.userId());
+        });
+        for (OrderUserResponse order : orders) {
+            out.write(objectMapper.writeValueAsBytes(order));
+            out.write(NEWLINE);
+        }
+        out.flush();
+        return orders.size();
+    }
+
+    private Map<Long, UserResponse> fetchUsersMap(List<OrderLineProjection> chunk) {
+        Set<Long> userIds = chunk.stream()
+                .filter(line -> userSnapshotHelper.getSnapshotUser(line) == null)
+                .map(OrderLineProjection::userId)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userApiService.getUsersByIds(userIds);
+    }
+}
@@ -1,7 +1,13 @@
 package com.intern.orderservice.service.impl;
 
+import com.intern.orderservice.dto.request.BulkCreateOrderRequest;
+import com.intern.orderservice.dto.request.BulkUpdateOrderStatusRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.BulkCreateOrderResponse;
+import com.intern.orderservice.dto.response.BulkUpdateOrderStatusResponse;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.model.enums.OrderStatus;
 import com.intern.orderservice.service.AdminOrderService;
@@ -13,7 +19,6 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -42,22 +47,31 @@ public class OrderServiceAuthorizationDecoratorImpl implements OrderServiceAutho
     }
 
     @Override
-    public List<OrderUserResponse> getOrdersByIds(Collection<Long> ids) {
+    public CursorPageResponse<OrderUserResponse> getOrdersByIds(Collection<Long> ids, CursorPageRequest pageRequest) {
         if (authorizationService.isAdmin()) {
-            return adminOrderService.getOrdersByIds(ids);
+            return adminOrderService.getOrdersByIds(ids, pageRequest);
         } else if (authorizationService.isUser()) {
-            return userOrderService.getUserOrdersByIds(ids, authorizationService.getEmail());
+            return userOrderService.getUserOrdersByIds(ids, authorizationService.getEmail(), pageRequest);
         } else {
             throw new AccessDeniedException("Access denied: unauthorized role");
         }
     }
 
     @Override
-    public List<OrderUserResponse> getOrdersByStatuses(Collection<OrderStatus> statuses) {
+    public CursorPageResponse<OrderUserResponse> getOrdersByStatuses(Collection<OrderStatus> statuses, CursorPageRequest pageRequest) {
         if (authorizationService.isAdmin()) {
-            return adminOrderService.getOrdersByStatuses(statuses);
+            return adminOrderService.getOrdersByStatuses(statuses, pageRequest);
         } else if (authorizationService.isUser()) {
-            return userOrderService.getUserOrdersByStatuses(statuses, authorizationService.getEmail());
+            return userOrderService.getUserOrdersByStatuses(statuses, authorizationService.getEmail(), pageRequest);
+        } else {
+            throw new AccessDeniedException("Access denied: unauthorized role");
+        }
+    }
+
+    @Override
+    public CursorPageResponse<OrderUserResponse> getCurrentUserOrders(CursorPageRequest pageRequest) {
+        if (authorizationService.isAdmin() || authorizationService.isUser()) {
+            return userOrderService.getUserOrders(authorizationService.getEmail(), pageRequest);
         } else {
             throw new AccessDeniedException("Access denied: unauthorized role");
         }
@@ -74,6 +88,15 @@ public class OrderServiceAuthorizationDecoratorImpl implements OrderServiceAutho
         }
     }
 
+    @Override
+    public BulkCreateOrderResponse createOrders(BulkCreateOrderRequest request) {
+        if (authorizationService.isAdmin()) {
+            return adminOrderService.createOrders(request.orders());
+        } else {
+            throw new AccessDeniedException("Access denied: bulk order creation requires admin role");
+        }
+    }
+
     @Override
     public OrderUserResponse updateOrderStatusById(Long id, UpdateOrderStatusRequest request) {
         if (authorizationService.isAdmin()) {
@@ -85,6 +108,15 @@ public class OrderServiceAuthorizationDecoratorImpl implements OrderServiceAutho
         }
     }
 
+    @Override
+    public BulkUpdateOrderStatusResponse updateOrdersStatus(BulkUpdateOrderStatusRequest request, boolean includeOrders) {
+        if (authorizationService.isAdmin()) {
+            return adminOrderService.updateOrdersStatus(request, includeOrders);
+        } else {
+            throw new AccessDeniedException("Access denied: bulk status update requires admin role");
+        }
+    }
+
     @Override
     public void deleteOrderById(Long id) {
         if (authorizationService.isAdmin()) {
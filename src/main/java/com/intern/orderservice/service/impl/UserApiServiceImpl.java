@@ -2,6 +2,8 @@ package com.intern.orderservice.service.impl;
 
 import com.intern.orderservice.dto.response.UserResponse;
 import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.AdaptiveConcurrencyLimiter;
+import com.intern.orderservice.service.helper.RequestHedger;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,25 +14,38 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
 public class UserApiServiceImpl implements UserApiService {
 
     private final RestTemplate restTemplate;
+    private final RequestHedger requestHedger;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
     private final String USERS_SEARCH_ENDPOINT;
     private final String USERS_ENDPOINT;
+    private final String USERS_BATCH_ENDPOINT;
     private final String USERSERVICE_URL;
 
     @Autowired
     public UserApiServiceImpl(
             RestTemplate restTemplate,
+            RequestHedger requestHedger,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
             @Value("${userservice.endpoint.search-email}") String USERS_SEARCH_ENDPOINT,
             @Value("${userservice.endpoint.users}") String USERS_ENDPOINT,
+            @Value("${userservice.endpoint.batch}") String USERS_BATCH_ENDPOINT,
             @Value("${userservice.baseurl}") String USERSERVICE_URL
     ) {
         this.restTemplate = restTemplate;
+        this.requestHedger = requestHedger;
+        this.concurrencyLimiter = concurrencyLimiter;
         this.USERS_SEARCH_ENDPOINT = USERS_SEARCH_ENDPOINT;
         this.USERS_ENDPOINT = USERS_ENDPOINT;
+        this.USERS_BATCH_ENDPOINT = USERS_BATCH_ENDPOINT;
         this.USERSERVICE_URL = USERSERVICE_URL;
     }
 
@@ -38,7 +53,8 @@ public class UserApiServiceImpl implements UserApiService {
     @Override
     public UserResponse getUserById(Long userId) {
         String url = USERSERVICE_URL + USERS_ENDPOINT + userId;
-        ResponseEntity<UserResponse> response = restTemplate.getForEntity(url, UserResponse.class);
+        ResponseEntity<UserResponse> response = concurrencyLimiter.execute(() ->
+                requestHedger.execute(() -> restTemplate.getForEntity(url, UserResponse.class)));
 
         log.info("Response from UserService by id: {}, {}", response.getStatusCode(), response.getBody());
         return response.getBody();
@@ -48,7 +64,8 @@ public class UserApiServiceImpl implements UserApiService {
     @Override
     public UserResponse getUserByEmail(String email) {
         String url = USERSERVICE_URL + USERS_SEARCH_ENDPOINT + email;
-        ResponseEntity<UserResponse> response = restTemplate.getForEntity(url, UserResponse.class);
+        ResponseEntity<UserResponse> response = concurrencyLimiter.execute(() ->
+                requestHedger.execute(() -> restTemplate.getForEntity(url, UserResponse.class)));
         log.info("Response from UserService by email: {}, {}", response.getStatusCode(), response.getBody());
         return response.getBody();
     }
@@ -64,5 +81,52 @@ public class UserApiServiceImpl implements UserApiService {
         }
         throw t;
     }
-}
 
+    /**
+     * Resolves all given ids with a single bulk request. Callers are expected to keep the
+     * collection to a reasonable size, see {@link CachedUserApiServiceImpl} for chunking.
+     * Ids missing from the response are mapped to the NotFound placeholder.
+     */
+    @CircuitBreaker(name = "UserService", fallbackMethod = "getUsersByIdsFallback")
+    @Override
+    public Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        String ids = userIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String url = USERSERVICE_URL + USERS_BATCH_ENDPOINT + ids;
+        ResponseEntity<UserResponse[]> response = concurrencyLimiter.execute(() ->
+                restTemplate.getForEntity(url, UserResponse[].class));
+
+        UserResponse[] body = response.getBody() == null ? new UserResponse[0] : response.getBody();
+        log.info("Response from UserService by ids: {}, {} of {} users found",
+                response.getStatusCode(), body.length, userIds.size());
+
+        Map<Long, UserResponse> found = Arrays.stream(body)
+                .collect(Collectors.toMap(UserResponse::id, Function.identity(), (a, b) -> a));
+        return withNotFoundPlaceholders(userIds, found);
+    }
+
+    @Override
+    public Map<Long, UserResponse> getUsersByIdsFallback(Collection<Long> userIds, RuntimeException t) {
+        if (t instanceof HttpClientErrorException http) {
+            log.info("Circuit breaker fallback response for userIds: {}, {}", userIds, http.getStatusCode());
+            if (http.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return withNotFoundPlaceholders(userIds, Map.of());
+            }
+        }
+        throw t;
+    }
+
+    private Map<Long, UserResponse> withNotFoundPlaceholders(Collection<Long> userIds, Map<Long, UserResponse> found) {
+        Map<Long, UserResponse> usersById = new HashMap<>();
+        for (Long userId : userIds) {
+            UserResponse user = found.get(userId);
+            // same placeholder as getUserByIdFallback so admin can see orders with nonexisting users
+            usersById.put(userId, user != null ? user : new UserResponse(null, HttpStatus.NOT_FOUND.toString(), null, null, null));
+        }
+        return usersById;
+    }
+}
@@ -0,0 +1,41 @@
+package com.intern.orderservice.service.impl;
+
+import com.intern.orderservice.service.CurrentUserService;
+import com.intern.orderservice.service.UserCacheService;
+import com.intern.orderservice.service.helper.LastKnownUserStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts a user from every local cache holding it: the id and email caches, the per-token cache of
+ * the current user and the last-known-good store, so that neither regular nor fallback reads serve
+ * the evicted copy.
+ */
+@Service
+@Slf4j
+public class UserCacheServiceImpl implements UserCacheService {
+
+    private final CachedUserApiServiceImpl cachedUserApiService;
+    private final CurrentUserService currentUserService;
+    private final LastKnownUserStore lastKnownUserStore;
+
+    @Autowired
+    public UserCacheServiceImpl(CachedUserApiServiceImpl cachedUserApiService,
+                                CurrentUserService currentUserService,
+                                LastKnownUserStore lastKnownUserStore) {
+        this.cachedUserApiService = cachedUserApiService;
+        this.currentUserService = currentUserService;
+        this.lastKnownUserStore = lastKnownUserStore;
+    }
+
+    @PreAuthorize("hasRole('admin')")
+    @Override
+    public void evictUser(Long userId) {
+        cachedUserApiService.evictUser(userId);
+        currentUserService.evictUser(userId);
+        lastKnownUserStore.forget(userId);
+        log.info("Evicted cached user with id: {}", userId);
+    }
+}
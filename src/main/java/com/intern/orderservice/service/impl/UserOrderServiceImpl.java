@@ -1,17 +1,24 @@
 package com.intern.orderservice.service.impl;
 
+import com.intern.orderservice.dto.projection.OrderLineProjection;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.exception.OrderStatusConflictException;
 import com.intern.orderservice.exception.StatusModificationIllegalAccessException;
 import com.intern.orderservice.mapper.OrderMapper;
-import com.intern.orderservice.model.Order;
+import com.intern.orderservice.model.Item;
 import com.intern.orderservice.model.enums.OrderStatus;
 import com.intern.orderservice.repository.OrderRepository;
-import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.AsyncUserApiService;
+import com.intern.orderservice.service.CurrentUserService;
 import com.intern.orderservice.service.UserOrderService;
+import com.intern.orderservice.service.helper.FutureUtils;
 import com.intern.orderservice.service.helper.OrderCreationHelper;
+import com.intern.orderservice.service.helper.OrderPageHelper;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -19,59 +26,86 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Transactional
 public class UserOrderServiceImpl implements UserOrderService {
 
-    private final UserApiService userApiService;
+    private final CurrentUserService currentUserService;
+    private final AsyncUserApiService asyncUserApiService;
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final OrderCreationHelper orderCreationHelper;
+    private final OrderPageHelper orderPageHelper;
 
     @Autowired
-    public UserOrderServiceImpl(UserApiService userApiService, OrderRepository orderRepository, OrderMapper orderMapper, OrderCreationHelper orderCreationHelper) {
-        this.userApiService = userApiService;
+    public UserOrderServiceImpl(CurrentUserService currentUserService, OrderRepository orderRepository, OrderMapper orderMapper, OrderCreationHelper orderCreationHelper, AsyncUserApiService asyncUserApiService, OrderPageHelper orderPageHelper) {
+        this.currentUserService = currentUserService;
+        this.asyncUserApiService = asyncUserApiService;
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
         this.orderCreationHelper = orderCreationHelper;
+        this.orderPageHelper = orderPageHelper;
     }
 
     @Transactional(readOnly = true)
     @Override
     public Optional<OrderUserResponse> getUserOrderById(Long id, String email) {
-        UserResponse userByEmail = userApiService.getUserByEmail(email);
+        UserResponse userByEmail = currentUserService.getUserByEmail(email);
 
-        return orderRepository.findByIdAndUserId(id, userByEmail.id())
-                .map(o -> orderMapper.toOrderUserResponse(o, userByEmail));
+        List<OrderLineProjection> lines = orderRepository.findLinesByIdAndUserId(id, userByEmail.id());
+        return orderMapper.toOrderUserResponses(lines, line -> userByEmail).stream().findFirst();
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<OrderUserResponse> getUserOrdersByIds(Collection<Long> ids, String email) {
-        UserResponse userByEmail = userApiService.getUserByEmail(email);
+    public CursorPageResponse<OrderUserResponse> getUserOrdersByIds(Collection<Long> ids, String email, CursorPageRequest pageRequest) {
+        UserResponse userByEmail = currentUserService.getUserByEmail(email);
 
-        return orderRepository.findAllByIdInAndUserId(ids, userByEmail.id()).stream()
-                .map(o -> orderMapper.toOrderUserResponse(o, userByEmail))
-                .toList();
+        return orderPageHelper.readPage(pageRequest,
+                (beforeDate, beforeId, limit) -> orderRepository.findPageLinesByIdInAndUserId(ids, userByEmail.id(), beforeDate, beforeId, limit),
+                lines -> orderMapper.toOrderUserResponses(lines, line -> userByEmail));
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<OrderUserResponse> getUserOrdersByStatuses(Collection<OrderStatus> statuses, String email) {
-        UserResponse userByEmail = userApiService.getUserByEmail(email);
+    public CursorPageResponse<OrderUserResponse> getUserOrdersByStatuses(Collection<OrderStatus> statuses, String email, CursorPageRequest pageRequest) {
+        UserResponse userByEmail = currentUserService.getUserByEmail(email);
 
-        return orderRepository.findAllByStatusInAndUserId(statuses, userByEmail.id()).stream()
-                .map(o -> orderMapper.toOrderUserResponse(o, userByEmail))
-                .toList();
+        return orderPageHelper.readPage(pageRequest,
+                (beforeDate, beforeId, limit) -> orderRepository.findPageLinesByStatusInAndUserId(statuses, userByEmail.id(), beforeDate, beforeId, limit),
+                lines -> orderMapper.toOrderUserResponses(lines, line -> userByEmail));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<OrderUserResponse> getUserOrders(String email, CursorPageRequest pageRequest) {
+        UserResponse userByEmail = currentUserService.getUserByEmail(email);
+
+        return orderPageHelper.readPage(pageRequest,
+                (beforeDate, beforeId, limit) -> orderRepository.findPageLinesByUserId(userByEmail.id(), beforeDate, beforeId, limit),
+                lines -> orderMapper.toOrderUserResponses(lines, line -> userByEmail));
     }
 
     @Override
     public OrderUserResponse createUserOrder(CreateOrderRequest request, String email) {
-        UserResponse userByEmail = userApiService.getUserByEmail(email);
+        // the user resolution and the item query are independent, run them concurrently
+        CompletableFuture<UserResponse> userFuture = asyncUserApiService.getCurrentUserByEmailAsync(email);
+        Map<Long, Item> itemsById;
+        try {
+            itemsById = orderCreationHelper.findItemsById(request);
+        } catch (RuntimeException e) {
+            // the lookup runs with this request's attributes and must not outlive it
+            FutureUtils.awaitQuietly(userFuture);
+            throw e;
+        }
+
+        UserResponse userByEmail = FutureUtils.join(userFuture);
         CreateOrderRequest createOrderRequest = new CreateOrderRequest(userByEmail.id(), request.items());
-        return orderCreationHelper.createOrderFromRequestAndUser(createOrderRequest, userByEmail);
+        return orderCreationHelper.createOrder(createOrderRequest, itemsById, userByEmail);
     }
 
     @Override
@@ -80,24 +114,26 @@ public class UserOrderServiceImpl implements UserOrderService {
             throw new StatusModificationIllegalAccessException(request.status());
         }
 
-        UserResponse userByEmail = userApiService.getUserByEmail(email);
-
-        Order order = orderRepository.findByIdAndUserId(id, userByEmail.id())
-                .orElseThrow(() -> new EntityNotFoundException("Order with id " + id + " and userId " + userByEmail.id() + " not found"));
+        UserResponse userByEmail = currentUserService.getUserByEmail(email);
 
-        order.setStatus(request.status());
-        Order updated = orderRepository.save(order);
+        if (orderRepository.updateStatusByIdAndUserId(id, userByEmail.id(), request.status(), OrderStatus.TERMINAL) == 0) {
+            OrderStatus current = orderRepository.findStatusByIdAndUserId(id, userByEmail.id())
+                    .orElseThrow(() -> new EntityNotFoundException("Order with id " + id + " and userId " + userByEmail.id() + " not found"));
+            throw new OrderStatusConflictException(id, current);
+        }
 
-        return orderMapper.toOrderUserResponse(updated, userByEmail);
+        List<OrderLineProjection> lines = orderRepository.findLinesByIdAndUserId(id, userByEmail.id());
+        return orderMapper.toOrderUserResponses(lines, line -> userByEmail).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Order with id " + id + " and userId " + userByEmail.id() + " not found"));
     }
 
     @Override
     public void deleteUserOrderById(Long id, String email) {
-        UserResponse userByEmail = userApiService.getUserByEmail(email);
-        if (!orderRepository.existsByIdAndUserId(id, userByEmail.id())) {
+        UserResponse userByEmail = currentUserService.getUserByEmail(email);
+        if (orderRepository.deleteOrderByIdAndUserId(id, userByEmail.id()) == 0) {
             throw new EntityNotFoundException("Order with id " + id + " and userId " + userByEmail.id() + " not found");
         }
-        orderRepository.deleteById(id);
     }
 
 }
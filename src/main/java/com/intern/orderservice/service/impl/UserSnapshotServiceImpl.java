@@ -0,0 +1,90 @@
+package com.intern.orderservice.service.impl;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.UserSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps the user snapshots stored on orders in line with UserService. Orders are processed per user,
+ * {@code userservice.snapshot.batch-size} users at a time: the users are loaded with one bulk lookup and
+ * every order of a user is updated with one statement. Users no longer known to UserService keep their
+ * last snapshot. Users are read from UserService itself, bypassing the caches, which may serve copies
+ * older than the snapshot being replaced. Backfill and refresh run on demand as admin operations, so
+ * UserService is called with the admin's token.
+ */
+@Service
+@Slf4j
+public class UserSnapshotServiceImpl implements UserSnapshotService {
+
+    private final OrderRepository orderRepository;
+    private final UserApiService userApiService;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    @Autowired
+    public UserSnapshotServiceImpl(
+            OrderRepository orderRepository,
+            @Qualifier("userApiServiceImpl") UserApiService userApiService,
+            @Value("${userservice.snapshot.max-age}") Duration maxAge,
+            @Value("${userservice.snapshot.batch-size}") int batchSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.userApiService = userApiService;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+    }
+
+    @PreAuthorize("hasRole('admin')")
+    @Override
+    public int backfillSnapshots() {
+        return updateSnapshots(afterUserId ->
+                orderRepository.findUserIdsWithoutUserSnapshot(afterUserId, Limit.of(batchSize)));
+    }
+
+    @PreAuthorize("hasRole('admin')")
+    @Override
+    public int refreshSnapshots() {
+        LocalDateTime takenBefore = LocalDateTime.now().minus(maxAge);
+        return updateSnapshots(afterUserId ->
+                orderRepository.findUserIdsWithUserSnapshotTakenBefore(takenBefore, afterUserId, Limit.of(batchSize)));
+    }
+
+    private int updateSnapshots(Function<Long, List<Long>> nextUserIds) {
+        int updatedOrders = 0;
+        Long afterUserId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = nextUserIds.apply(afterUserId);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Map<Long, UserResponse> usersById = userApiService.getUsersByIds(userIds);
+            LocalDateTime takenAt = LocalDateTime.now();
+            for (Long userId : userIds) {
+                UserResponse user = usersById.get(userId);
+                if (user == null || user.id() == null) {
+                    log.debug("User with id: {} not found, keeping its order snapshots", userId);
+                    continue;
+                }
+                updatedOrders += orderRepository.updateUserSnapshot(userId, user.name(), user.surname(),
+                        user.email(), user.birthDate(), takenAt);
+            }
+            afterUserId = userIds.getLast();
+        } while (userIds.size() == batchSize);
+        return updatedOrders;
+    }
+}
@@ -1,33 +1,47 @@
 package com.intern.orderservice.integration.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intern.orderservice.dto.request.BulkUpdateOrderStatusRequest;
 import com.intern.orderservice.dto.request.CreateOrderItemRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.BulkUpdateOrderStatusResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.exception.ItemsNotFoundException;
+import com.intern.orderservice.exception.OrderStatusConflictException;
 import com.intern.orderservice.integration.CustomPostgreSQLContainer;
 import com.intern.orderservice.model.Item;
 import com.intern.orderservice.model.enums.OrderStatus;
 import com.intern.orderservice.repository.ItemRepository;
 import com.intern.orderservice.service.AdminOrderService;
+import com.intern.orderservice.service.ItemService;
+import com.intern.orderservice.service.OrderExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @AutoConfigureWireMock(port = 9099)
@@ -39,12 +53,24 @@ class AdminOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
     @Autowired
     private AdminOrderService adminOrderService;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private ItemService itemService;
+
     @Autowired
     private ItemRepository itemRepository;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private UserResponse fakeUser;
 
     @BeforeEach
@@ -62,6 +88,12 @@ class AdminOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
                         .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
                         .withBody(objectMapper.writeValueAsString(fakeUser))
                         .withStatus(200)));
+
+        stubFor(get(urlEqualTo("/users?ids=" + fakeUser.id()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(List.of(fakeUser)))
+                        .withStatus(200)));
     }
 
     private Item createItem(String name, BigDecimal price) {
@@ -109,6 +141,37 @@ class AdminOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
         assertThat(found.get().user().email()).isEqualTo(fakeUser.email());
     }
 
+    @Test
+    void testOrderOfRetiredItemStaysReadable() {
+        Item item = createItem("Modem", new BigDecimal("70.00"));
+        CreateOrderRequest request = new CreateOrderRequest(
+                fakeUser.id(),
+                List.of(new CreateOrderItemRequest(item.getId(), 1))
+        );
+        OrderUserResponse created = adminOrderService.createOrder(request);
+
+        itemService.delete(item.getId());
+
+        Optional<OrderUserResponse> found = adminOrderService.getOrderById(created.id());
+        assertThat(found).isPresent();
+        assertThat(found.get().items()).extracting(line -> line.item().name()).containsExactly("Modem");
+        assertThatThrownBy(() -> adminOrderService.createOrder(request))
+                .isInstanceOf(ItemsNotFoundException.class);
+    }
+
+    @Test
+    void testHardDeleteOfOrderedItemIsRejected() {
+        Item item = createItem("Patch Panel", new BigDecimal("45.00"));
+        adminOrderService.createOrder(new CreateOrderRequest(
+                fakeUser.id(),
+                List.of(new CreateOrderItemRequest(item.getId(), 2))
+        ));
+        entityManager.flush();
+
+        assertThatThrownBy(() -> jdbcTemplate.update("DELETE FROM items WHERE id = ?", item.getId()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @Test
     void testGetOrdersByIds() {
         // Arrange: create items and orders
@@ -123,7 +186,7 @@ class AdminOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
         );
 
         // Act
-        List<OrderUserResponse> foundOrders = adminOrderService.getOrdersByIds(List.of(order1.id(), order2.id()));
+        List<OrderUserResponse> foundOrders = adminOrderService.getOrdersByIds(List.of(order1.id(), order2.id()), CursorPageRequest.firstPage()).content();
 
         // Assert
         assertThat(foundOrders).hasSize(2);
@@ -149,8 +212,8 @@ class AdminOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
         adminOrderService.updateOrderStatusById(order2.id(), updateRequest);
 
         // Act
-        List<OrderUserResponse> cancelledOrders = adminOrderService.getOrdersByStatuses(List.of(OrderStatus.CANCELLED));
-        List<OrderUserResponse> newOrders = adminOrderService.getOrdersByStatuses(List.of(OrderStatus.NEW));
+        List<OrderUserResponse> cancelledOrders = adminOrderService.getOrdersByStatuses(List.of(OrderStatus.CANCELLED), CursorPageRequest.firstPage()).content();
+        List<OrderUserResponse> newOrders = adminOrderService.getOrdersByStatuses(List.of(OrderStatus.NEW), CursorPageRequest.firstPage()).content();
 
         // Assert
         assertThat(cancelledOrders).hasSize(1);
@@ -160,6 +223,35 @@ class AdminOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
         assertThat(newOrders.get(0).status()).isEqualTo(OrderStatus.NEW);
     }
 
+    @Test
+    void testExportOrdersByStatuses() throws Exception {
+        // Arrange: create items and orders, one of them cancelled
+        Item item1 = createItem("Patch Panel", new BigDecimal("90.00"));
+        Item item2 = createItem("Rack Shelf", new BigDecimal("40.00"));
+
+        OrderUserResponse order1 = adminOrderService.createOrder(
+                new CreateOrderRequest(fakeUser.id(), List.of(
+                        new CreateOrderItemRequest(item1.getId(), 1),
+                        new CreateOrderItemRequest(item2.getId(), 3)))
+        );
+        OrderUserResponse order2 = adminOrderService.createOrder(
+                new CreateOrderRequest(fakeUser.id(), List.of(new CreateOrderItemRequest(item2.getId(), 1)))
+        );
+        adminOrderService.updateOrderStatusById(order2.id(), new UpdateOrderStatusRequest(OrderStatus.CANCELLED));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrdersByStatuses(List.of(OrderStatus.NEW), out);
+
+        // Assert: one JSON document per line
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(1);
+        OrderUserResponse exported = objectMapper.readValue(lines.getFirst(), OrderUserResponse.class);
+        assertThat(exported.id()).isEqualTo(order1.id());
+        assertThat(exported.user()).isEqualTo(fakeUser);
+        assertThat(exported.items()).hasSize(2);
+    }
+
     @Test
     void testUpdateOrderStatusById() {
         // Arrange: create item and order
@@ -177,6 +269,47 @@ class AdminOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
         assertThat(updated.status()).isEqualTo(OrderStatus.SHIPPED);
     }
 
+    @Test
+    void testUpdateOrderStatusByIdOfCancelledOrderConflicts() {
+        // Arrange: create item and a cancelled order
+        Item item = createItem("Surge Protector", new BigDecimal("35.00"));
+        OrderUserResponse created = adminOrderService.createOrder(
+                new CreateOrderRequest(fakeUser.id(), List.of(new CreateOrderItemRequest(item.getId(), 1)))
+        );
+        adminOrderService.updateOrderStatusById(created.id(), new UpdateOrderStatusRequest(OrderStatus.CANCELLED));
+
+        // Act & Assert
+        assertThatThrownBy(() -> adminOrderService.updateOrderStatusById(created.id(), new UpdateOrderStatusRequest(OrderStatus.SHIPPED)))
+                .isInstanceOf(OrderStatusConflictException.class);
+        assertThatThrownBy(() -> adminOrderService.updateOrderStatusById(-1L, new UpdateOrderStatusRequest(OrderStatus.SHIPPED)))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(adminOrderService.getOrderById(created.id())).get()
+                .extracting(OrderUserResponse::status).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void testUpdateOrdersStatus() {
+        // Arrange: three new orders, one of them already delivered
+        Item item = createItem("Patch Panel", new BigDecimal("80.00"));
+        CreateOrderRequest request = new CreateOrderRequest(fakeUser.id(), List.of(new CreateOrderItemRequest(item.getId(), 1)));
+        OrderUserResponse first = adminOrderService.createOrder(request);
+        OrderUserResponse second = adminOrderService.createOrder(request);
+        OrderUserResponse delivered = adminOrderService.createOrder(request);
+        adminOrderService.updateOrderStatusById(delivered.id(), new UpdateOrderStatusRequest(OrderStatus.DELIVERED));
+
+        // Act
+        BulkUpdateOrderStatusResponse response = adminOrderService.updateOrdersStatus(new BulkUpdateOrderStatusRequest(
+                List.of(first.id(), second.id(), delivered.id(), -1L), OrderStatus.SHIPPED, OrderStatus.NEW), true);
+
+        // Assert
+        assertThat(response.updated()).isEqualTo(2);
+        assertThat(response.skipped()).containsExactly(delivered.id(), -1L);
+        assertThat(response.orders()).extracting(OrderUserResponse::id).containsExactlyInAnyOrder(first.id(), second.id());
+        assertThat(response.orders()).extracting(OrderUserResponse::status).containsOnly(OrderStatus.SHIPPED);
+        assertThat(adminOrderService.getOrderById(delivered.id())).get()
+                .extracting(OrderUserResponse::status).isEqualTo(OrderStatus.DELIVERED);
+    }
+
     @Test
     void testDeleteOrderById() {
         // Arrange: create item and order
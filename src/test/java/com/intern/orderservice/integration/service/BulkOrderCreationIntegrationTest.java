@@ -0,0 +1,109 @@
+package com.intern.orderservice.integration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intern.orderservice.dto.request.CreateOrderItemRequest;
+import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.response.BulkCreateOrderResponse;
+import com.intern.orderservice.dto.response.BulkOrderResult;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.integration.CustomPostgreSQLContainer;
+import com.intern.orderservice.model.Item;
+import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.AdminOrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk creation commits each chunk in its own transaction, so this test is not transactional and
+ * removes what it created afterwards.
+ */
+@SpringBootTest(properties = "orders.bulk.chunk-size=3")
+@AutoConfigureWireMock(port = 9099)
+@ActiveProfiles("test")
+@Tag("integration")
+class BulkOrderCreationIntegrationTest extends CustomPostgreSQLContainer {
+
+    private static final int ORDERS = 7;
+
+    @Autowired
+    private AdminOrderService adminOrderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UserResponse fakeUser = new UserResponse(1L, "Alice", "Admin", LocalDate.of(1985, 5, 20), "alice.admin@example.com");
+    private final List<Long> createdOrderIds = new ArrayList<>();
+    private Item item;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Item newItem = new Item();
+        newItem.setName("Bulk cable");
+        newItem.setPrice(new BigDecimal("3.00"));
+        item = itemRepository.save(newItem);
+
+        // only user 1 exists, whatever other ids are asked for
+        stubFor(get(urlMatching("/users\\?ids=.*"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(List.of(fakeUser)))
+                        .withStatus(200)));
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAllById(createdOrderIds);
+        itemRepository.deleteById(item.getId());
+    }
+
+    @Test
+    void givenValidAndInvalidOrders_whenCreateOrders_thenValidOnesPersistedAndEachOrderReported() {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            requests.add(new CreateOrderRequest(fakeUser.id(), List.of(new CreateOrderItemRequest(item.getId(), i + 1))));
+        }
+        requests.add(new CreateOrderRequest(2L, List.of(new CreateOrderItemRequest(item.getId(), 1))));
+        requests.add(new CreateOrderRequest(fakeUser.id(), List.of(new CreateOrderItemRequest(-1L, 1))));
+
+        BulkCreateOrderResponse response = adminOrderService.createOrders(requests);
+        response.results().stream()
+                .filter(result -> result.order() != null)
+                .forEach(result -> createdOrderIds.add(result.order().id()));
+
+        assertThat(response.created()).isEqualTo(ORDERS);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.results()).extracting(BulkOrderResult::status).containsExactly(
+                HttpStatus.CREATED, HttpStatus.CREATED, HttpStatus.CREATED, HttpStatus.CREATED,
+                HttpStatus.CREATED, HttpStatus.CREATED, HttpStatus.CREATED,
+                HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND);
+        assertThat(response.results().subList(0, ORDERS))
+                .allSatisfy(result -> assertThat(result.order().items().getFirst().quantity()).isEqualTo(result.index() + 1));
+        assertThat(orderRepository.findAllById(createdOrderIds)).hasSize(ORDERS);
+        assertThat(createdOrderIds).allMatch(Objects::nonNull).doesNotHaveDuplicates();
+        verify(1, getRequestedFor(urlMatching("/users\\?ids=.*")));
+    }
+}
@@ -0,0 +1,141 @@
+package com.intern.orderservice.integration.service;
+
+import com.intern.orderservice.dto.response.ItemResponse;
+import com.intern.orderservice.integration.CustomPostgreSQLContainer;
+import com.intern.orderservice.model.Item;
+import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.service.helper.ItemCatalogCache;
+import com.intern.orderservice.service.helper.ItemChangeListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Item writes committed behind the application's back, as another instance would, must evict the
+ * cached items through the change notifications. Not transactional, so that the writes commit and
+ * notify.
+ */
+@SpringBootTest(properties = {
+        "orders.item-cache.notify.ping-interval=200ms",
+        "orders.item-cache.notify.reconnect-delay=200ms"})
+@AutoConfigureWireMock(port = 9099)
+@ActiveProfiles("test")
+@Tag("integration")
+class ItemCacheInvalidationIntegrationTest extends CustomPostgreSQLContainer {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private ItemCatalogCache itemCatalogCache;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Item item;
+
+    @BeforeEach
+    void setup() {
+        Item newItem = new Item();
+        newItem.setName("Notified lamp");
+        newItem.setPrice(new BigDecimal("12.00"));
+        item = itemRepository.save(newItem);
+        assertThat(itemCatalogCache.get(item.getId())).map(ItemResponse::name).contains("Notified lamp");
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from items where id = ? or name = ?", item.getId(), "Inserted lamp");
+    }
+
+    private Optional<String> cachedName() {
+        return itemCatalogCache.get(item.getId()).map(ItemResponse::name);
+    }
+
+    private List<String> newestListedNames() {
+        return itemRepository.findAllResponses(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id")))
+                .map(ItemResponse::name)
+                .getContent();
+    }
+
+    private void renameBehindTheCache(String name) {
+        jdbcTemplate.update("update items set name = ? where id = ?", name, item.getId());
+    }
+
+    private double resubscriptions() {
+        return meterRegistry.counter(ItemChangeListener.RESUBSCRIBED_METRIC).count();
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+
+    @Test
+    void givenCachedItem_whenUpdatedElsewhere_thenEvicted() throws InterruptedException {
+        renameBehindTheCache("Renamed lamp");
+
+        assertThat(eventually(() -> cachedName().equals(Optional.of("Renamed lamp")))).isTrue();
+    }
+
+    @Test
+    void givenCachedItem_whenDeletedElsewhere_thenEvicted() throws InterruptedException {
+        jdbcTemplate.update("delete from items where id = ?", item.getId());
+
+        assertThat(eventually(() -> cachedName().isEmpty())).isTrue();
+    }
+
+    @Test
+    void givenCachedListing_whenItemInsertedElsewhere_thenListingEvicted() throws InterruptedException {
+        assertThat(newestListedNames()).contains("Notified lamp");
+
+        jdbcTemplate.update("insert into items (id, name, price) values (nextval('items_seq'), ?, ?)",
+                "Inserted lamp", new BigDecimal("13.00"));
+
+        assertThat(eventually(() -> newestListedNames().contains("Inserted lamp"))).isTrue();
+    }
+
+    @Test
+    void givenListenerConnectionLost_whenItemUpdated_thenResubscribedAndEvicted() throws InterruptedException {
+        double before = resubscriptions();
+
+        jdbcTemplate.queryForList("select pg_terminate_backend(pid) from pg_stat_activity where application_name = ?",
+                ItemChangeListener.APPLICATION_NAME);
+        // a change made while nobody listens is recovered by the refresh that follows the resubscription
+        renameBehindTheCache("Missed lamp");
+
+        assertThat(eventually(() -> resubscriptions() > before)).isTrue();
+        assertThat(eventually(() -> cachedName().equals(Optional.of("Missed lamp")))).isTrue();
+
+        renameBehindTheCache("Relit lamp");
+        assertThat(eventually(() -> cachedName().equals(Optional.of("Relit lamp")))).isTrue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.intern.orderservice.integration.service;
 
+import com.intern.orderservice.config.SecondLevelCacheConfig;
 import com.intern.orderservice.dto.request.CreateItemRequest;
 import com.intern.orderservice.dto.response.ItemResponse;
 import com.intern.orderservice.exception.ItemAlreadyExistsException;
@@ -8,6 +9,7 @@ import com.intern.orderservice.integration.NoSecurityConfig;
 import com.intern.orderservice.model.Item;
 import com.intern.orderservice.repository.ItemRepository;
 import com.intern.orderservice.service.ItemService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -38,6 +40,13 @@ class ItemServiceIntegrationTest extends CustomPostgreSQLContainer {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private double cacheHits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+
     @Test
     void testCreateItemSuccess() {
         CreateItemRequest request = new CreateItemRequest("Laptop", new BigDecimal("1200.00"));
@@ -56,7 +65,7 @@ class ItemServiceIntegrationTest extends CustomPostgreSQLContainer {
     @Test
     void testCreateItemDuplicateThrowsException() {
         // Arrange: save item first
-        itemRepository.save(new Item(null, "Phone", new BigDecimal("800.00"), null));
+        itemRepository.save(new Item(null, "Phone", new BigDecimal("800.00"), false, null));
 
         CreateItemRequest duplicate = new CreateItemRequest("Phone", new BigDecimal("800.00"));
 
@@ -67,7 +76,7 @@ class ItemServiceIntegrationTest extends CustomPostgreSQLContainer {
 
     @Test
     void testGetByIdReturnsItem() {
-        Item saved = itemRepository.save(new Item(null, "Tablet", new BigDecimal("500.00"), null));
+        Item saved = itemRepository.save(new Item(null, "Tablet", new BigDecimal("500.00"), false, null));
 
         Optional<ItemResponse> response = itemService.getById(saved.getId());
 
@@ -83,8 +92,8 @@ class ItemServiceIntegrationTest extends CustomPostgreSQLContainer {
 
     @Test
     void testGetAllReturnsPagedItems() {
-        itemRepository.save(new Item(null, "Keyboard", new BigDecimal("100.00"), null));
-        itemRepository.save(new Item(null, "Mouse", new BigDecimal("50.00"), null));
+        itemRepository.save(new Item(null, "Keyboard", new BigDecimal("100.00"), false, null));
+        itemRepository.save(new Item(null, "Mouse", new BigDecimal("50.00"), false, null));
 
         Page<ItemResponse> page = itemService.getAll(PageRequest.of(0, 10));
 
@@ -93,13 +102,48 @@ class ItemServiceIntegrationTest extends CustomPostgreSQLContainer {
                 .containsExactlyInAnyOrder("Keyboard", "Mouse");
     }
 
+    @Test
+    void testGetAllServedFromQueryCacheUntilItemsChange() {
+        itemService.getAll(PageRequest.of(0, 10));
+        double hits = cacheHits(SecondLevelCacheConfig.QUERY_RESULTS_REGION);
+
+        itemService.getAll(PageRequest.of(0, 10));
+        assertThat(cacheHits(SecondLevelCacheConfig.QUERY_RESULTS_REGION)).isGreaterThan(hits);
+
+        itemService.create(new CreateItemRequest("Webcam", new BigDecimal("60.00")));
+        Page<ItemResponse> page = itemService.getAll(PageRequest.of(0, 10));
+        assertThat(page.getContent()).extracting(ItemResponse::name).contains("Webcam");
+    }
+
     @Test
     void testDeleteItemSuccess() {
-        Item saved = itemRepository.save(new Item(null, "Monitor", new BigDecimal("300.00"), null));
+        Item saved = itemRepository.save(new Item(null, "Monitor", new BigDecimal("300.00"), false, null));
+
+        itemService.delete(saved.getId());
+
+        assertThat(itemRepository.findById(saved.getId())).get().extracting(Item::isRetired).isEqualTo(true);
+        assertThat(itemService.getById(saved.getId())).isEmpty();
+        assertThat(itemService.getAll(PageRequest.of(0, 10)).getContent()).extracting(ItemResponse::id)
+                .doesNotContain(saved.getId());
+    }
 
+    @Test
+    void testDeleteRetiredItemThrowsException() {
+        Item saved = itemRepository.save(new Item(null, "Scanner", new BigDecimal("150.00"), false, null));
         itemService.delete(saved.getId());
 
-        assertThat(itemRepository.existsById(saved.getId())).isFalse();
+        assertThatThrownBy(() -> itemService.delete(saved.getId()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void testCreateItemLikeRetiredOneSucceeds() {
+        Item saved = itemRepository.save(new Item(null, "Printer", new BigDecimal("250.00"), false, null));
+        itemService.delete(saved.getId());
+
+        ItemResponse response = itemService.create(new CreateItemRequest("Printer", new BigDecimal("250.00")));
+
+        assertThat(response.id()).isNotEqualTo(saved.getId());
     }
 
     @Test
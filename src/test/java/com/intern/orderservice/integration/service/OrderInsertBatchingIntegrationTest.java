@@ -0,0 +1,136 @@
+package com.intern.orderservice.integration.service;
+
+import com.intern.orderservice.dto.request.CreateOrderItemRequest;
+import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.response.OrderUserResponse;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.integration.CustomPostgreSQLContainer;
+import com.intern.orderservice.model.Item;
+import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.service.helper.OrderCreationHelper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orders and their lines are inserted in JDBC batches, so creating an order costs the same number of
+ * statements however many lines it has. Also compares the insert throughput with batching turned off,
+ * which is what identity-generated ids forced.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureWireMock(port = 9099)
+@ActiveProfiles("test")
+@Tag("integration")
+@Transactional
+@Slf4j
+class OrderInsertBatchingIntegrationTest extends CustomPostgreSQLContainer {
+
+    private static final int LINES = 50;
+
+    @Autowired
+    private OrderCreationHelper orderCreationHelper;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UserResponse user = new UserResponse(71L, "Bea", "Batch", LocalDate.of(1991, 1, 1), "bea.batch@example.com");
+    private Map<Long, Item> itemsById;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            Item item = new Item();
+            item.setName("Batch item " + i);
+            item.setPrice(new BigDecimal("2.50"));
+            items.add(item);
+        }
+        itemsById = itemRepository.saveAll(items).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private CreateOrderRequest request(int lines) {
+        return new CreateOrderRequest(user.id(), itemsById.keySet().stream()
+                .limit(lines)
+                .map(itemId -> new CreateOrderItemRequest(itemId, 1))
+                .toList());
+    }
+
+    private long statementsToCreate(int orders, int lines) {
+        statistics.clear();
+        for (int i = 0; i < orders; i++) {
+            OrderUserResponse created = orderCreationHelper.createOrder(request(lines), itemsById, user);
+            assertThat(created.items()).hasSize(lines).allSatisfy(line -> assertThat(line.id()).isNotNull());
+        }
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void givenGrowingLineCount_whenCreateOrder_thenStatementCountConstant() {
+        // warm up the id pools so that neither measurement includes a sequence call
+        statementsToCreate(1, 1);
+
+        long statementsForOneLine = statementsToCreate(1, 1);
+        long statementsForManyLines = statementsToCreate(1, LINES - 2);
+
+        // one insert batch per table, plus at most one sequence call per table for a new id block
+        assertThat(statementsForOneLine).isLessThanOrEqualTo(4);
+        assertThat(statementsForManyLines).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void givenBatchingOnAndOff_whenCreateOrders_thenBatchedNeedsFarFewerStatements() {
+        int orders = 20;
+        Session session = entityManager.unwrap(Session.class);
+        statementsToCreate(1, LINES);
+
+        session.setJdbcBatchSize(1);
+        long unbatchedStart = System.nanoTime();
+        long unbatchedStatements = statementsToCreate(orders, LINES);
+        long unbatchedNanos = System.nanoTime() - unbatchedStart;
+
+        session.setJdbcBatchSize(null);
+        long batchedStart = System.nanoTime();
+        long batchedStatements = statementsToCreate(orders, LINES);
+        long batchedNanos = System.nanoTime() - batchedStart;
+
+        log.info("Created {} orders of {} lines: unbatched {} statements, {} orders/s; batched {} statements, {} orders/s",
+                orders, LINES,
+                unbatchedStatements, orders * 1_000_000_000L / unbatchedNanos,
+                batchedStatements, orders * 1_000_000_000L / batchedNanos);
+        assertThat(unbatchedStatements).isGreaterThanOrEqualTo((long) orders * (LINES + 1));
+        assertThat(batchedStatements).isLessThan(unbatchedStatements / 10);
+    }
+}
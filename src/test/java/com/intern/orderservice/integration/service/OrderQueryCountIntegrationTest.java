@@ -0,0 +1,241 @@
+package com.intern.orderservice.integration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intern.orderservice.dto.request.CreateOrderItemRequest;
+import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
+import com.intern.orderservice.dto.response.CursorPageResponse;
+import com.intern.orderservice.dto.response.OrderUserResponse;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.integration.CustomPostgreSQLContainer;
+import com.intern.orderservice.model.Item;
+import com.intern.orderservice.model.Order;
+import com.intern.orderservice.model.OrderItem;
+import com.intern.orderservice.model.enums.OrderStatus;
+import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.AdminOrderService;
+import com.intern.orderservice.service.UserOrderService;
+import com.intern.orderservice.service.helper.ItemCatalogCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order read paths must cost the same number of SQL statements however many orders, lines and
+ * items they return. Order creation resolves cached items without querying them.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureWireMock(port = 9099)
+@ActiveProfiles("test")
+@Tag("integration")
+@Transactional
+class OrderQueryCountIntegrationTest extends CustomPostgreSQLContainer {
+
+    @Autowired
+    private AdminOrderService adminOrderService;
+
+    @Autowired
+    private UserOrderService userOrderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UserResponse fakeUser;
+    private Statistics statistics;
+    // active items are unique by name and price
+    private int createdItems;
+
+    @BeforeEach
+    void setup() throws Exception {
+        fakeUser = new UserResponse(
+                61L,
+                "Quinn",
+                "Query",
+                LocalDate.of(1988, 8, 8),
+                "quinn.query@example.com"
+        );
+
+        stubFor(get(urlEqualTo("/users?ids=" + fakeUser.id()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(List.of(fakeUser)))
+                        .withStatus(200)));
+
+        stubFor(get(urlEqualTo("/users/search?email=" + fakeUser.email()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(fakeUser))
+                        .withStatus(200)));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private List<Long> createOrders(int count, int linesPerOrder) {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setUserId(fakeUser.id());
+            order.setStatus(OrderStatus.PROCESSING);
+            order.setCreationDate(LocalDateTime.now());
+            for (int line = 0; line < linesPerOrder; line++) {
+                Item item = new Item();
+                item.setName("Query item " + createdItems++);
+                item.setPrice(new BigDecimal("1.00"));
+                order.getItems().add(new OrderItem(null, order, itemRepository.save(item), 1));
+            }
+            orderIds.add(orderRepository.save(order).getId());
+        }
+        entityManager.flush();
+        return orderIds;
+    }
+
+    private long statementsFor(Supplier<List<OrderUserResponse>> read, int expectedOrders, int expectedLines) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<OrderUserResponse> orders = read.get();
+
+        assertThat(orders).hasSize(expectedOrders)
+                .allSatisfy(order -> assertThat(order.items()).hasSize(expectedLines)
+                        .allSatisfy(line -> assertThat(line.item().name()).isNotNull()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void givenCachedItems_whenCreateUserOrder_thenItemsNotQueried() {
+        List<CreateOrderItemRequest> lines = new ArrayList<>();
+        for (int line = 0; line < 3; line++) {
+            Item item = new Item();
+            item.setName("Cached item " + line);
+            item.setPrice(new BigDecimal("4.00"));
+            lines.add(new CreateOrderItemRequest(itemRepository.save(item).getId(), 1));
+        }
+        CreateOrderRequest request = new CreateOrderRequest(null, lines);
+        userOrderService.createUserOrder(request, fakeUser.email());
+        double hitsBefore = itemCacheHits();
+        statistics.clear();
+
+        OrderUserResponse created = userOrderService.createUserOrder(request, fakeUser.email());
+        entityManager.flush();
+
+        assertThat(created.items()).hasSize(3).allSatisfy(line -> assertThat(line.item().name()).startsWith("Cached item"));
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(itemCacheHits() - hitsBefore).isEqualTo(3);
+    }
+
+    private double itemCacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", ItemCatalogCache.ITEMS_BY_ID_CACHE).tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    @Test
+    void givenGrowingResult_whenGetOrdersByIds_thenStatementCountConstant() {
+        List<Long> few = createOrders(1, 1);
+        long statementsForFew = statementsFor(() -> adminOrderService.getOrdersByIds(few, CursorPageRequest.firstPage()).content(), 1, 1);
+
+        List<Long> many = createOrders(8, 3);
+        long statementsForMany = statementsFor(() -> adminOrderService.getOrdersByIds(many, CursorPageRequest.firstPage()).content(), 8, 3);
+
+        assertThat(statementsForFew).isEqualTo(1);
+        assertThat(statementsForMany).isEqualTo(statementsForFew);
+    }
+
+    @Test
+    void givenGrowingResult_whenGetOrdersByStatuses_thenStatementCountConstant() {
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+                .filter(order -> order.getStatus() == OrderStatus.PROCESSING)
+                .toList());
+
+        createOrders(1, 3);
+        long statementsForFew = statementsFor(
+                () -> adminOrderService.getOrdersByStatuses(Set.of(OrderStatus.PROCESSING), CursorPageRequest.firstPage()).content(), 1, 3);
+
+        createOrders(8, 3);
+        long statementsForMany = statementsFor(
+                () -> adminOrderService.getOrdersByStatuses(Set.of(OrderStatus.PROCESSING), CursorPageRequest.firstPage()).content(), 9, 3);
+
+        assertThat(statementsForFew).isEqualTo(1);
+        assertThat(statementsForMany).isEqualTo(statementsForFew);
+    }
+
+    @Test
+    void givenGrowingResult_whenGetUserOrdersByIds_thenStatementCountConstant() {
+        List<Long> few = createOrders(1, 1);
+        long statementsForFew = statementsFor(() -> userOrderService.getUserOrdersByIds(few, fakeUser.email(), CursorPageRequest.firstPage()).content(), 1, 1);
+
+        List<Long> many = createOrders(8, 3);
+        long statementsForMany = statementsFor(() -> userOrderService.getUserOrdersByIds(many, fakeUser.email(), CursorPageRequest.firstPage()).content(), 8, 3);
+
+        assertThat(statementsForFew).isEqualTo(1);
+        assertThat(statementsForMany).isEqualTo(statementsForFew);
+    }
+
+    @Test
+    void givenCursorsFollowed_whenGetUserOrders_thenEveryPageOneStatementNewestFirst() {
+        List<Long> created = createOrders(9, 2);
+
+        List<Long> seen = new ArrayList<>();
+        List<Long> statementsPerPage = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageRequest pageRequest = new CursorPageRequest(cursor, 2);
+            List<CursorPageResponse<OrderUserResponse>> page = new ArrayList<>();
+            statementsPerPage.add(statementsFor(() -> {
+                page.add(userOrderService.getUserOrders(fakeUser.email(), pageRequest));
+                return page.getFirst().content();
+            }, seen.size() < 8 ? 2 : 1, 2));
+            page.getFirst().content().forEach(order -> seen.add(order.id()));
+            cursor = page.getFirst().next();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(created.reversed());
+        assertThat(statementsPerPage).hasSize(5).containsOnly(1L);
+    }
+
+    @Test
+    void givenOrderWithManyLines_whenGetOrderById_thenOneStatement() {
+        Long orderId = createOrders(1, 5).getFirst();
+
+        long statements = statementsFor(() -> adminOrderService.getOrderById(orderId).stream().toList(), 1, 5);
+
+        assertThat(statements).isEqualTo(1);
+    }
+}
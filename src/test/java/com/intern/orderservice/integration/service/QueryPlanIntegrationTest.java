@@ -0,0 +1,294 @@
+package com.intern.orderservice.integration.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intern.orderservice.integration.CustomPostgreSQLContainer;
+import com.intern.orderservice.model.enums.OrderStatus;
+import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.postgresql.PGStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans every query method of the repositories against a realistic dataset and fails on a sequential
+ * scan, except on the tables a query reads in full by design. Each method is run once, in a transaction rolled back afterwards, to record the statements it
+ * sends with their bound values; each statement is then explained as sent. The dataset is committed, so
+ * this test is not transactional and removes it afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("integration")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class QueryPlanIntegrationTest extends CustomPostgreSQLContainer {
+
+    private static final int ITEMS = 5_000;
+    private static final int ORDERS = 100_000;
+    private static final int USERS = 5_000;
+    private static final int LINES_PER_ORDER = 3;
+    // seeded users are far above the ids used by the other tests, which makes the dataset easy to remove
+    private static final long FIRST_USER_ID = 1_000_000L;
+    private static final String ITEM_NAME_PREFIX = "Plan item ";
+
+    // a sequential scan is the cheapest way to read most of a table, an index would only add random reads
+    private static final Map<String, Set<String>> FULL_READS = Map.of(
+            // the export reads every line of the orders in the exported statuses
+            "streamLinesByStatusIn", Set.of("orders", "order_items", "items"),
+            // the page count counts every active item, the result is kept in the query cache
+            "findAllResponses", Set.of("items"));
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long orderId;
+    private List<Long> orderIds;
+    private long userId;
+    private List<Long> itemIds;
+
+    /**
+     * Records every executed prepared statement as the driver renders it, with its parameters inlined.
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return recording(super.getConnection(), Connection.class);
+                        }
+                    };
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T recording(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return recording(statement, PreparedStatement.class);
+                }
+                if (target instanceof PreparedStatement statement && method.getName().startsWith("execute")
+                        && (args == null || args.length == 0)) {
+                    STATEMENTS.add(statement.unwrap(PGStatement.class).toString());
+                }
+                return result;
+            });
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                insert into items (id, name, price, retired)
+                select nextval('items_seq'), ? || g, 1 + g % 500, g % 10 = 0
+                from generate_series(1, ?) g""", ITEM_NAME_PREFIX, ITEMS);
+        jdbcTemplate.update("""
+                insert into orders (id, user_id, status, creation_date,
+                                    user_name, user_surname, user_email, user_birth_date, user_snapshot_date)
+                select nextval('orders_seq'), ? + g % ?,
+                       (array['NEW', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED'])[1 + g % 5],
+                       localtimestamp - g * interval '10 minutes',
+                       'Plan', 'User', 'plan.user@example.com', date '1990-01-01',
+                       case when g % 4 = 0 then null else localtimestamp - g * interval '1 minute' end
+                from generate_series(1, ?) g""", FIRST_USER_ID, USERS, ORDERS);
+        jdbcTemplate.update("""
+                insert into order_items (id, order_id, item_id, quantity)
+                select nextval('order_items_seq'), o.id, i.id, 1 + n
+                from (select id, row_number() over (order by id) as rn from orders where user_id >= ?) o
+                    cross join generate_series(0, ? - 1) n
+                    join (select id, row_number() over (order by id) - 1 as rn from items where name like ? || '%') i
+                        on i.rn = (o.rn * 7 + n * 1013) % ?""", FIRST_USER_ID, LINES_PER_ORDER, ITEM_NAME_PREFIX, ITEMS);
+        jdbcTemplate.execute("vacuum analyze items, orders, order_items");
+
+        orderIds = jdbcTemplate.queryForList("select id from orders where user_id >= ? order by id limit 20",
+                Long.class, FIRST_USER_ID);
+        orderId = orderIds.getFirst();
+        userId = jdbcTemplate.queryForObject("select user_id from orders where id = ?", Long.class, orderId);
+        itemIds = jdbcTemplate.queryForList("select id from items where name like ? || '%' order by id limit 20",
+                Long.class, ITEM_NAME_PREFIX);
+    }
+
+    @AfterAll
+    void cleanup() {
+        jdbcTemplate.update("delete from orders where user_id >= ?", FIRST_USER_ID);
+        jdbcTemplate.update("delete from items where name like ? || '%'", ITEM_NAME_PREFIX);
+    }
+
+    private Map<String, Consumer<LocalDateTime>> queries() {
+        Set<OrderStatus> statuses = Set.of(OrderStatus.NEW, OrderStatus.SHIPPED);
+        List<String> terminal = OrderStatus.TERMINAL.stream().map(Enum::name).toList();
+        Map<String, Consumer<LocalDateTime>> queries = new LinkedHashMap<>();
+
+        queries.put("findLinesById", now -> orderRepository.findLinesById(orderId));
+        queries.put("findLinesByIdAndUserId", now -> orderRepository.findLinesByIdAndUserId(orderId, userId));
+        queries.put("findLinesByIdIn", now -> orderRepository.findLinesByIdIn(orderIds));
+        queries.put("findPageLinesByIdIn", now -> orderRepository.findPageLinesByIdIn(orderIds, now, Long.MAX_VALUE, 20));
+        queries.put("findPageLinesByStatusIn", now -> orderRepository.findPageLinesByStatusIn(statuses, now, Long.MAX_VALUE, 20));
+        queries.put("findPageLinesByUserId", now -> orderRepository.findPageLinesByUserId(userId, now, Long.MAX_VALUE, 20));
+        queries.put("findPageLinesByIdInAndUserId",
+                now -> orderRepository.findPageLinesByIdInAndUserId(orderIds, userId, now, Long.MAX_VALUE, 20));
+        queries.put("findPageLinesByStatusInAndUserId",
+                now -> orderRepository.findPageLinesByStatusInAndUserId(statuses, userId, now, Long.MAX_VALUE, 20));
+        queries.put("streamLinesByStatusIn", now -> {
+            try (Stream<?> lines = orderRepository.streamLinesByStatusIn(statuses)) {
+                lines.limit(1).forEach(line -> { });
+            }
+        });
+        queries.put("findStatusById", now -> orderRepository.findStatusById(orderId));
+        queries.put("findStatusByIdAndUserId", now -> orderRepository.findStatusByIdAndUserId(orderId, userId));
+        queries.put("updateStatusById",
+                now -> orderRepository.updateStatusById(orderId, OrderStatus.PROCESSING, OrderStatus.TERMINAL));
+        queries.put("updateStatusByIdAndUserId",
+                now -> orderRepository.updateStatusByIdAndUserId(orderId, userId, OrderStatus.PROCESSING, OrderStatus.TERMINAL));
+        queries.put("deleteOrderById", now -> orderRepository.deleteOrderById(orderId));
+        queries.put("deleteOrderByIdAndUserId", now -> orderRepository.deleteOrderByIdAndUserId(orderId, userId));
+        queries.put("findUserIdsWithoutUserSnapshot",
+                now -> orderRepository.findUserIdsWithoutUserSnapshot(0L, Limit.of(100)));
+        queries.put("findUserIdsWithUserSnapshotTakenBefore",
+                now -> orderRepository.findUserIdsWithUserSnapshotTakenBefore(now.minusDays(1), 0L, Limit.of(100)));
+        queries.put("updateStatusByIdIn", now -> orderRepository.updateStatusByIdIn(orderIds, "PROCESSING", terminal));
+        queries.put("updateStatusByIdInAndStatus",
+                now -> orderRepository.updateStatusByIdInAndStatus(orderIds, "PROCESSING", "NEW", terminal));
+        queries.put("updateUserSnapshot", now -> orderRepository.updateUserSnapshot(
+                userId, "Plan", "User", "plan.user@example.com", LocalDate.of(1990, 1, 1), now));
+
+        queries.put("existsByNameAndPriceAndRetiredFalse",
+                now -> itemRepository.existsByNameAndPriceAndRetiredFalse(ITEM_NAME_PREFIX + 1, new BigDecimal("2.00")));
+        queries.put("findResponsesByIdIn", now -> itemRepository.findResponsesByIdIn(itemIds));
+        queries.put("findAllResponses", now -> itemRepository.findAllResponses(PageRequest.of(1, 20, Sort.by("id"))));
+        queries.put("retireItemById", now -> itemRepository.retireItemById(itemIds.getFirst()));
+        return queries;
+    }
+
+    private static Set<String> queryMethods(Class<?> repository) {
+        return Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !method.isSynthetic())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Runs the query and returns the statements it sent, leaving out id allocation.
+     */
+    private List<String> capture(Consumer<LocalDateTime> query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        STATEMENTS.clear();
+        transaction.executeWithoutResult(status -> {
+            query.accept(LocalDateTime.now());
+            status.setRollbackOnly();
+        });
+        return STATEMENTS.stream()
+                .filter(sql -> !sql.contains("nextval"))
+                .toList();
+    }
+
+    private List<String> seqScans(String sql) throws Exception {
+        String plan = jdbcTemplate.queryForObject("explain (format json) " + sql, String.class);
+        List<String> seqScans = new ArrayList<>();
+        collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), seqScans);
+        if (!seqScans.isEmpty()) {
+            log.info("Plan of {}:\n{}", sql, plan);
+        }
+        return seqScans;
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collectSeqScans(child, seqScans));
+    }
+
+    @Test
+    void givenEveryRepositoryQuery_whenExplained_thenNoSequentialScan() throws Exception {
+        Map<String, Consumer<LocalDateTime>> queries = queries();
+        assertThat(queries.keySet())
+                .as("every query method needs a plan check")
+                .containsAll(queryMethods(OrderRepository.class))
+                .containsAll(queryMethods(ItemRepository.class));
+
+        Map<String, List<String>> seqScansByQuery = new LinkedHashMap<>();
+        for (Map.Entry<String, Consumer<LocalDateTime>> query : queries.entrySet()) {
+            List<String> statements = capture(query.getValue());
+            assertThat(statements).as(query.getKey() + " sends a statement").isNotEmpty();
+            for (String sql : statements) {
+                List<String> seqScans = seqScans(sql);
+                seqScans.removeAll(FULL_READS.getOrDefault(query.getKey(), Set.of()));
+                if (!seqScans.isEmpty()) {
+                    seqScansByQuery.computeIfAbsent(query.getKey(), key -> new ArrayList<>()).addAll(seqScans);
+                }
+            }
+        }
+
+        assertThat(seqScansByQuery).as("sequential scans by query").isEmpty();
+    }
+}
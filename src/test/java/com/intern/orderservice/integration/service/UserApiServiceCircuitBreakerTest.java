@@ -3,6 +3,8 @@ package com.intern.orderservice.integration.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.intern.orderservice.dto.response.UserResponse;
 import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.AdaptiveConcurrencyLimiter;
+import com.intern.orderservice.service.helper.RequestHedger;
 import com.intern.orderservice.service.impl.UserApiServiceImpl;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
@@ -24,12 +26,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@SpringBootTest(classes = {UserApiServiceImpl.class, UserApiServiceCircuitBreakerTest.TestConfig.class})
+@SpringBootTest(classes = {UserApiServiceImpl.class, RequestHedger.class, AdaptiveConcurrencyLimiter.class, UserApiServiceCircuitBreakerTest.TestConfig.class})
 @EnableAutoConfiguration(exclude = {
         DataSourceAutoConfiguration.class,
         HibernateJpaAutoConfiguration.class,
@@ -105,6 +109,21 @@ class UserApiServiceCircuitBreakerTest {
         assertThat(response.name()).isEqualTo(HttpStatus.NOT_FOUND.toString());
     }
 
+    @Test
+    void testBatchLookupMapsMissingUsersToPlaceholder() throws Exception {
+        stubFor(get(urlEqualTo("/users?ids=1,999"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(List.of(fakeUser)))
+                        .withStatus(200)));
+
+        Map<Long, UserResponse> response = userApiService.getUsersByIds(List.of(1L, 999L));
+
+        assertThat(response.get(1L).email()).isEqualTo(fakeUser.email());
+        assertThat(response.get(999L).id()).isNull();
+        assertThat(response.get(999L).name()).isEqualTo(HttpStatus.NOT_FOUND.toString());
+    }
+
     @Test
     void testCircuitBreakerOpensAfterFailures() {
         // Stub repeated 500 errors
@@ -3,6 +3,7 @@ package com.intern.orderservice.integration.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.intern.orderservice.dto.request.CreateOrderItemRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
@@ -180,8 +181,8 @@ class UserOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
 
         // Act
         List<OrderUserResponse> foundOrders = userOrderService.getUserOrdersByIds(
-                List.of(order1.id(), order2.id()), fakeUser.email()
-        );
+                List.of(order1.id(), order2.id()), fakeUser.email(), CursorPageRequest.firstPage()
+        ).content();
 
         // Assert
         assertThat(foundOrders).hasSize(2);
@@ -210,12 +211,12 @@ class UserOrderServiceIntegrationTest extends CustomPostgreSQLContainer {
 
         // Act: query by statuses
         List<OrderUserResponse> cancelledOrders = userOrderService.getUserOrdersByStatuses(
-                List.of(OrderStatus.CANCELLED), fakeUser.email()
-        );
+                List.of(OrderStatus.CANCELLED), fakeUser.email(), CursorPageRequest.firstPage()
+        ).content();
 
         List<OrderUserResponse> newOrders = userOrderService.getUserOrdersByStatuses(
-                List.of(OrderStatus.NEW), fakeUser.email()
-        );
+                List.of(OrderStatus.NEW), fakeUser.email(), CursorPageRequest.firstPage()
+        ).content();
 
         // Assert
         assertThat(cancelledOrders).hasSize(1);
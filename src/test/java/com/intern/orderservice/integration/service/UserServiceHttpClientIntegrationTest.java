@@ -0,0 +1,40 @@
+package com.intern.orderservice.integration.service;
+
+import com.intern.orderservice.config.RestTemplateConfig;
+import com.intern.orderservice.integration.CustomPostgreSQLContainer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWireMock(port = 9099)
+@ActiveProfiles("test")
+@Tag("integration")
+class UserServiceHttpClientIntegrationTest extends CustomPostgreSQLContainer {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager userServiceConnectionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testConnectionsArePrewarmedAtStartup() {
+        assertThat(userServiceConnectionManager.getTotalStats().getAvailable()).isPositive();
+    }
+
+    @Test
+    void testConnectionPoolMetricsAreRegistered() {
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", RestTemplateConfig.USERSERVICE_POOL)
+                .gauge())
+                .isNotNull();
+    }
+}
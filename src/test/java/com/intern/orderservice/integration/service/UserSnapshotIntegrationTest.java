@@ -0,0 +1,154 @@
+package com.intern.orderservice.integration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intern.orderservice.dto.request.CreateOrderItemRequest;
+import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
+import com.intern.orderservice.dto.response.OrderUserResponse;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.integration.CustomPostgreSQLContainer;
+import com.intern.orderservice.model.Item;
+import com.intern.orderservice.model.Order;
+import com.intern.orderservice.model.OrderItem;
+import com.intern.orderservice.model.enums.OrderStatus;
+import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.AdminOrderService;
+import com.intern.orderservice.service.UserSnapshotService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "userservice.snapshot.enabled=true")
+@AutoConfigureWireMock(port = 9099)
+@ActiveProfiles("test")
+@Tag("integration")
+@Transactional
+class UserSnapshotIntegrationTest extends CustomPostgreSQLContainer {
+
+    @Autowired
+    private AdminOrderService adminOrderService;
+
+    @Autowired
+    private UserSnapshotService userSnapshotService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UserResponse fakeUser;
+    private Item item;
+
+    @BeforeEach
+    void setup() throws Exception {
+        fakeUser = new UserResponse(
+                41L,
+                "Sam",
+                "Snapshot",
+                LocalDate.of(1992, 3, 4),
+                "sam.snapshot@example.com"
+        );
+
+        stubFor(get(urlEqualTo("/users/" + fakeUser.id()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(fakeUser))
+                        .withStatus(200)));
+
+        stubFor(get(urlEqualTo("/users?ids=" + fakeUser.id()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(List.of(fakeUser)))
+                        .withStatus(200)));
+
+        item = new Item();
+        item.setName("Label Printer");
+        item.setPrice(new BigDecimal("80.00"));
+        item = itemRepository.save(item);
+    }
+
+    @Test
+    void givenSnapshotMode_whenOrderCreatedAndRead_thenReadNeedsNoUserServiceCall() {
+        OrderUserResponse created = adminOrderService.createOrder(new CreateOrderRequest(
+                fakeUser.id(), List.of(new CreateOrderItemRequest(item.getId(), 1))));
+        entityManager.flush();
+        entityManager.clear();
+        resetAllRequests();
+
+        List<OrderUserResponse> found = adminOrderService.getOrdersByIds(List.of(created.id()), CursorPageRequest.firstPage()).content();
+
+        assertThat(found).singleElement()
+                .satisfies(order -> assertThat(order.user()).isEqualTo(fakeUser));
+        verify(0, getRequestedFor(urlPathMatching("/users.*")));
+    }
+
+    @Test
+    @WithMockUser(roles = "admin")
+    void givenOrderWithoutSnapshot_whenBackfillSnapshots_thenSnapshotStored() {
+        Order order = new Order();
+        order.setUserId(fakeUser.id());
+        order.setStatus(OrderStatus.NEW);
+        order.setCreationDate(LocalDateTime.now());
+        order.getItems().add(new OrderItem(null, order, item, 1));
+        Order saved = orderRepository.save(order);
+        entityManager.flush();
+
+        int updated = userSnapshotService.backfillSnapshots();
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        Order reloaded = orderRepository.findById(saved.getId()).orElseThrow();
+        assertThat(reloaded.getUserSnapshot().getEmail()).isEqualTo(fakeUser.email());
+        assertThat(reloaded.getUserSnapshot().getTakenAt()).isNotNull();
+    }
+
+    @Test
+    @WithMockUser(roles = "admin")
+    void givenCachedUser_whenRefreshSnapshots_thenFreshUserStored() throws Exception {
+        OrderUserResponse created = adminOrderService.createOrder(new CreateOrderRequest(
+                fakeUser.id(), List.of(new CreateOrderItemRequest(item.getId(), 1))));
+        entityManager.flush();
+        entityManager.createQuery("update Order o set o.userSnapshot.takenAt = :takenAt where o.id = :id")
+                .setParameter("takenAt", LocalDateTime.now().minusDays(2))
+                .setParameter("id", created.id())
+                .executeUpdate();
+        UserResponse renamed = new UserResponse(fakeUser.id(), "Samuel", fakeUser.surname(), fakeUser.birthDate(),
+                "samuel.snapshot@example.com");
+        stubFor(get(urlEqualTo("/users?ids=" + fakeUser.id()))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(List.of(renamed)))
+                        .withStatus(200)));
+
+        // the user cached by the order creation must not be stored as the new snapshot
+        userSnapshotService.refreshSnapshots();
+        entityManager.clear();
+
+        Order reloaded = orderRepository.findById(created.id()).orElseThrow();
+        assertThat(reloaded.getUserSnapshot().getEmail()).isEqualTo(renamed.email());
+    }
+}
@@ -0,0 +1,131 @@
+package com.intern.orderservice.unit.helper;
+
+import com.intern.orderservice.exception.UserServiceUnavailableException;
+import com.intern.orderservice.service.helper.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, Duration latencyThreshold) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, true, initialLimit, 2, 10, latencyThreshold, 0.5);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void givenLimitReached_whenExecute_thenRejectsWithoutCallingAndCounts() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+            Future<String> second = executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+                return "second";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThat(limiter.getInFlight()).isEqualTo(2);
+            assertThatThrownBy(() -> limiter.execute(() -> "third"))
+                    .isInstanceOf(UserServiceUnavailableException.class);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        }
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(meterRegistry.get(AdaptiveConcurrencyLimiter.REJECTED_METRIC).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenSlowCalls_whenExecute_thenLimitDecreasesToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, Duration.ZERO);
+
+        limiter.execute(() -> "slow");
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.execute(() -> "slow");
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void givenIoFailure_whenExecute_thenLimitDecreasesAndPermitReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new ResourceAccessException("Read timed out");
+        })).isInstanceOf(ResourceAccessException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void givenFastCallsUsingTheLimit_whenExecute_thenLimitGrowsUntilHalfOfItIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 200; i++) {
+            limiter.execute(() -> limiter.execute(() -> "nested"));
+        }
+
+        // two calls in flight justify a limit of up to four
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void givenFastCallsFarBelowTheLimit_whenExecute_thenLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, Duration.ofSeconds(5));
+
+        for (int i = 0; i < 50; i++) {
+            limiter.execute(() -> "idle");
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void givenDisabled_whenExecute_thenNeverRejects() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, false, 2, 2, 2, Duration.ZERO, 0.5);
+
+        String result = limiter.execute(() -> limiter.execute(() -> limiter.execute(() -> "nested")));
+
+        assertThat(result).isEqualTo("nested");
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package com.intern.orderservice.unit.helper;
+
+import com.intern.orderservice.dto.response.ItemResponse;
+import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.service.helper.ItemCatalogCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class ItemCatalogCacheTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ItemCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemCatalogCache(itemRepository, meterRegistry, 100, Duration.ofMinutes(10), true);
+    }
+
+    private static ItemResponse item(Long id) {
+        return new ItemResponse(id, "Item " + id, new BigDecimal("5.00"));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", ItemCatalogCache.ITEMS_BY_ID_CACHE).tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    void givenCachedAndMissingItems_whenGetAll_thenOnlyMissesQueriedOnceAndAbsentItemsNotCached() {
+        given(itemRepository.findResponsesByIdIn(anyCollection())).willReturn(List.of(item(1L), item(2L)));
+        cache.getAll(List.of(1L, 2L));
+
+        given(itemRepository.findResponsesByIdIn(anyCollection())).willReturn(List.of(item(3L)));
+        assertThat(cache.getAll(List.of(1L, 2L, 3L, 4L))).containsOnlyKeys(1L, 2L, 3L);
+
+        verify(itemRepository).findResponsesByIdIn(argThat(ids -> Set.copyOf(ids).equals(Set.of(3L, 4L))));
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(4);
+    }
+
+    @Test
+    void givenCachedItem_whenInvalidated_thenReloaded() {
+        given(itemRepository.findResponsesByIdIn(anyCollection())).willReturn(List.of(item(1L)));
+        assertThat(cache.get(1L)).contains(item(1L));
+        assertThat(cache.get(1L)).contains(item(1L));
+
+        cache.invalidate(1L);
+        given(itemRepository.findResponsesByIdIn(anyCollection())).willReturn(List.of());
+
+        assertThat(cache.get(1L)).isEmpty();
+        verify(itemRepository, times(2)).findResponsesByIdIn(anyCollection());
+    }
+
+    @Test
+    void givenWarmUp_whenGetAll_thenServedWithoutQuery() {
+        given(itemRepository.findAllResponses(any(Pageable.class))).willReturn(new PageImpl<>(List.of(item(1L), item(2L))));
+
+        cache.warmUp();
+        cache.put(item(3L));
+
+        assertThat(cache.getAll(List.of(1L, 2L, 3L))).containsOnlyKeys(1L, 2L, 3L);
+        verify(itemRepository, never()).findResponsesByIdIn(anyCollection());
+        assertThat(meterRegistry.get("cache.size").tag("cache", ItemCatalogCache.ITEMS_BY_ID_CACHE).gauge().value())
+                .isEqualTo(3);
+    }
+}
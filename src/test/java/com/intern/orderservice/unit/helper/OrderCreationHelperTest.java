@@ -2,6 +2,7 @@ package com.intern.orderservice.unit.helper;
 
 import com.intern.orderservice.dto.request.CreateOrderItemRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.response.ItemResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
 import com.intern.orderservice.exception.ItemsNotFoundException;
@@ -10,9 +11,10 @@ import com.intern.orderservice.model.Item;
 import com.intern.orderservice.model.Order;
 import com.intern.orderservice.model.OrderItem;
 import com.intern.orderservice.model.enums.OrderStatus;
-import com.intern.orderservice.repository.ItemRepository;
 import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.helper.ItemCatalogCache;
 import com.intern.orderservice.service.helper.OrderCreationHelper;
+import com.intern.orderservice.service.helper.UserSnapshotHelper;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +26,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -34,11 +37,13 @@ import static org.mockito.BDDMockito.*;
 class OrderCreationHelperTest {
 
     @Mock
-    private ItemRepository itemRepository;
+    private ItemCatalogCache itemCatalogCache;
     @Mock
     private OrderRepository orderRepository;
     @Mock
     private OrderMapper orderMapper;
+    @Mock
+    private UserSnapshotHelper userSnapshotHelper;
     @InjectMocks
     private OrderCreationHelper helper;
 
@@ -70,7 +75,7 @@ class OrderCreationHelperTest {
 
         OrderUserResponse response = new OrderUserResponse(100L, user, OrderStatus.NEW, null, Collections.emptyList());
 
-        given(itemRepository.findAllById(anySet())).willReturn(List.of(item));
+        given(itemCatalogCache.getAll(anySet())).willReturn(Map.of(1L, new ItemResponse(1L, "Laptop", new BigDecimal("1200.00"))));
         given(orderMapper.toOrder(eq(request), anyMap())).willReturn(order);
         given(orderRepository.save(order)).willReturn(savedOrder);
         given(orderMapper.toOrderUserResponse(savedOrder, user)).willReturn(response);
@@ -84,6 +89,7 @@ class OrderCreationHelperTest {
         assertThat(result.user().id()).isEqualTo(10L);
         assertThat(result.status()).isEqualTo(OrderStatus.NEW);
 
+        then(userSnapshotHelper).should().takeSnapshot(order, user);
         then(orderRepository).should().save(order);
         then(orderMapper).should().toOrderUserResponse(savedOrder, user);
     }
@@ -97,10 +103,43 @@ class OrderCreationHelperTest {
         );
         UserResponse user = new UserResponse(10L, "John", "Doe", LocalDate.of(1990, 1, 1), "john@example.com");
 
-        given(itemRepository.findAllById(anySet())).willReturn(List.of()); // no items found
+        given(itemCatalogCache.getAll(anySet())).willReturn(Map.of()); // no items found
 
         // Act + Assert
         assertThatThrownBy(() -> helper.createOrderFromRequestAndUser(request, user))
                 .isInstanceOf(ItemsNotFoundException.class);
     }
+
+    @Test
+    void testFindItemsByIdDoesNotValidateMissingItems() {
+        // Arrange
+        CreateOrderRequest request = new CreateOrderRequest(
+                null,
+                List.of(new CreateOrderItemRequest(99L, 1))
+        );
+        given(itemCatalogCache.getAll(anySet())).willReturn(Map.of());
+
+        // Act + Assert
+        assertThat(helper.findItemsById(request)).isEmpty();
+        then(orderRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void testFindItemsByIdReturnsDetachedCopiesOfCachedItems() {
+        // Arrange
+        CreateOrderRequest request = new CreateOrderRequest(
+                null,
+                List.of(new CreateOrderItemRequest(1L, 1))
+        );
+        given(itemCatalogCache.getAll(anySet())).willReturn(Map.of(1L, new ItemResponse(1L, "Laptop", new BigDecimal("1200.00"))));
+
+        // Act
+        Map<Long, Item> first = helper.findItemsById(request);
+        Map<Long, Item> second = helper.findItemsById(request);
+
+        // Assert
+        assertThat(first.get(1L).getName()).isEqualTo("Laptop");
+        assertThat(first.get(1L).getPrice()).isEqualByComparingTo("1200.00");
+        assertThat(first.get(1L)).isNotSameAs(second.get(1L));
+    }
 }
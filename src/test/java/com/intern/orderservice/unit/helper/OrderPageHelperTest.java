@@ -0,0 +1,121 @@
+package com.intern.orderservice.unit.helper;
+
+import com.intern.orderservice.dto.projection.OrderLineProjection;
+import com.intern.orderservice.dto.request.CursorPageRequest;
+import com.intern.orderservice.dto.response.CursorPageResponse;
+import com.intern.orderservice.dto.response.OrderUserResponse;
+import com.intern.orderservice.exception.InvalidPageRequestException;
+import com.intern.orderservice.model.enums.OrderStatus;
+import com.intern.orderservice.service.helper.OrderPageHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class OrderPageHelperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private OrderPageHelper pageHelper;
+
+    /** limit and key of every query made, in call order */
+    private final List<Object[]> queries = new ArrayList<>();
+
+    /** newest first, orders 10..1 with two lines each */
+    private final List<OrderLineProjection> table = new ArrayList<>();
+
+    private final Function<List<OrderLineProjection>, List<OrderUserResponse>> mapper = lines -> lines.stream()
+            .map(OrderLineProjection::orderId)
+            .distinct()
+            .map(orderId -> new OrderUserResponse(orderId, null, OrderStatus.NEW, null, Collections.emptyList()))
+            .toList();
+
+    @BeforeEach
+    void setUp() {
+        pageHelper = new OrderPageHelper(3, 4);
+        for (long orderId = 10; orderId > 0; orderId--) {
+            table.add(line(orderId, 1));
+            table.add(line(orderId, 2));
+        }
+    }
+
+    private OrderLineProjection line(long orderId, long lineNo) {
+        // orders 5 and 6 share a creation date, so the id breaks the tie
+        LocalDateTime creationDate = NOW.plusMinutes(orderId == 6 ? 5 : orderId);
+        return new OrderLineProjection(orderId, 1L, OrderStatus.NEW, creationDate,
+                null, null, null, null, null,
+                orderId * 10 + lineNo, 1, lineNo, "Item", BigDecimal.ONE);
+    }
+
+    private List<OrderLineProjection> query(LocalDateTime beforeDate, Long beforeId, int limit) {
+        queries.add(new Object[]{beforeDate, beforeId, limit});
+        List<Long> orderIds = table.stream()
+                .filter(line -> line.creationDate().isBefore(beforeDate)
+                        || line.creationDate().isEqual(beforeDate) && line.orderId() < beforeId)
+                .map(OrderLineProjection::orderId)
+                .distinct()
+                .limit(limit)
+                .toList();
+        return table.stream().filter(line -> orderIds.contains(line.orderId())).toList();
+    }
+
+    private List<Long> ids(CursorPageResponse<OrderUserResponse> page) {
+        return page.content().stream().map(OrderUserResponse::id).toList();
+    }
+
+    @Test
+    void givenCursorsFollowed_whenReadPage_thenEveryOrderReturnedOnceNewestFirst() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponse<OrderUserResponse> page = pageHelper.readPage(new CursorPageRequest(cursor, null), this::query, mapper);
+            seen.addAll(ids(page));
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+        assertThat(pages).isEqualTo(4);
+        assertThat(queries).allSatisfy(query -> assertThat(query[2]).isEqualTo(4));
+    }
+
+    @Test
+    void givenExactlyOnePageOfOrders_whenReadPage_thenNoNextCursor() {
+        table.removeIf(line -> line.orderId() > 3);
+
+        CursorPageResponse<OrderUserResponse> page = pageHelper.readPage(CursorPageRequest.firstPage(), this::query, mapper);
+
+        assertThat(ids(page)).containsExactly(3L, 2L, 1L);
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void givenSizeAboveMaximum_whenReadPage_thenCappedAtMaximum() {
+        CursorPageResponse<OrderUserResponse> page = pageHelper.readPage(new CursorPageRequest(null, 1000), this::query, mapper);
+
+        assertThat(ids(page)).hasSize(4);
+        assertThat(queries.getFirst()[2]).isEqualTo(5);
+    }
+
+    @Test
+    void givenInvalidCursorOrSize_whenReadPage_thenRejected() {
+        assertThatThrownBy(() -> pageHelper.readPage(new CursorPageRequest("not a cursor", null), this::query, mapper))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> pageHelper.readPage(new CursorPageRequest("bm90IGEgY3Vyc29y", null), this::query, mapper))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> pageHelper.readPage(new CursorPageRequest(null, 0), this::query, mapper))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThat(queries).isEmpty();
+    }
+}
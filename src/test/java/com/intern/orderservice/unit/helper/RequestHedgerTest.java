@@ -0,0 +1,146 @@
+package com.intern.orderservice.unit.helper;
+
+import com.intern.orderservice.service.helper.RequestHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class RequestHedgerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private RequestHedger hedger(double budgetRatio, double budgetBurst) {
+        return new RequestHedger(meterRegistry, true, 0.95, Duration.ofMillis(50), budgetRatio, budgetBurst);
+    }
+
+    private double count(String metric) {
+        return meterRegistry.get(metric).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void givenDisabled_whenExecute_thenCallsOnCallerThread() {
+        RequestHedger hedger = new RequestHedger(meterRegistry, false, 0.95, Duration.ofMillis(50), 1, 10);
+        Thread caller = Thread.currentThread();
+
+        boolean onCallerThread = hedger.execute(() -> Thread.currentThread() == caller);
+
+        assertThat(onCallerThread).isTrue();
+    }
+
+    @Test
+    void givenFastResponse_whenExecute_thenNoHedgeSent() {
+        RequestHedger hedger = hedger(1, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.execute(() -> "user-" + attempts.incrementAndGet());
+
+        assertThat(result).isEqualTo("user-1");
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(count(RequestHedger.HEDGES_METRIC)).isZero();
+    }
+
+    @Test
+    void givenSlowFirstAttempt_whenExecute_thenHedgeAnswersFirst() {
+        RequestHedger hedger = hedger(1, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(2_000);
+                return "slow";
+            }
+            return "hedged";
+        });
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(result).isEqualTo("hedged");
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(count(RequestHedger.HEDGES_METRIC)).isEqualTo(1.0);
+        assertThat(count(RequestHedger.WINS_METRIC)).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenExhaustedBudget_whenExecuteSlowCall_thenWaitsForFirstAttemptOnly() {
+        RequestHedger hedger = hedger(0, 0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.execute(() -> {
+            attempts.incrementAndGet();
+            sleep(150);
+            return "slow";
+        });
+
+        assertThat(result).isEqualTo("slow");
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(count(RequestHedger.HEDGES_METRIC)).isZero();
+        assertThat(count(RequestHedger.BUDGET_EXHAUSTED_METRIC)).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenBudgetRatio_whenManySlowCalls_thenHedgesBoundedByBudget() {
+        RequestHedger hedger = hedger(0.5, 1);
+
+        for (int i = 1; i <= 4; i++) {
+            // the first attempt only answers once the hedger decided whether to hedge this call
+            int decisions = i;
+            CountDownLatch decided = new CountDownLatch(1);
+            Thread.ofVirtual().start(() -> {
+                while (count(RequestHedger.HEDGES_METRIC) + count(RequestHedger.BUDGET_EXHAUSTED_METRIC) < decisions) {
+                    Thread.onSpinWait();
+                }
+                decided.countDown();
+            });
+            AtomicInteger attempts = new AtomicInteger();
+            hedger.execute(() -> {
+                if (attempts.incrementAndGet() == 1) {
+                    await(decided);
+                }
+                return "user";
+            });
+        }
+
+        // 4 requests earn 2 tokens, a hedge can only be paid once a full token is available
+        assertThat(count(RequestHedger.HEDGES_METRIC)).isEqualTo(2.0);
+        assertThat(count(RequestHedger.BUDGET_EXHAUSTED_METRIC)).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenFailingAttempts_whenExecute_thenOriginalExceptionPropagated() {
+        RequestHedger hedger = hedger(1, 10);
+
+        assertThatThrownBy(() -> hedger.execute(() -> {
+            throw new IllegalStateException("UserService down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("UserService down");
+    }
+}
@@ -0,0 +1,109 @@
+package com.intern.orderservice.unit.helper;
+
+import com.intern.orderservice.service.helper.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private Counter coalesced;
+    private SingleFlight<Long, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        coalesced = new SimpleMeterRegistry().counter("coalesced");
+        singleFlight = new SingleFlight<>(coalesced);
+    }
+
+    /**
+     * Starts CALLERS concurrent executions for the same key; the leader's call is held back until
+     * all other callers are waiting on it.
+     */
+    private List<Future<String>> startConcurrentCallers(ExecutorService executor, Supplier<String> call)
+            throws InterruptedException {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return call.get();
+        })));
+        leaderStarted.await();
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> "follower-call")));
+        }
+        while (coalesced.count() < CALLERS - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void givenConcurrentCallersForSameKey_whenExecute_thenOneCallAndSharedResult() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = startConcurrentCallers(executor, () -> {
+                calls.incrementAndGet();
+                return "user";
+            });
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user");
+            }
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalesced.count()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void givenFailingCall_whenExecuteConcurrently_thenAllCallersGetFailure() throws Exception {
+        IllegalStateException failure = new IllegalStateException("UserService down");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = startConcurrentCallers(executor, () -> {
+                throw failure;
+            });
+
+            for (Future<String> result : results) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCause(failure);
+            }
+        }
+    }
+
+    @Test
+    void givenSequentialCalls_whenExecute_thenEachCallRuns() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "a" + calls.incrementAndGet());
+        String second = singleFlight.execute(1L, () -> "a" + calls.incrementAndGet());
+
+        assertThat(second).isEqualTo("a2");
+        assertThat(coalesced.count()).isZero();
+    }
+}
@@ -0,0 +1,110 @@
+package com.intern.orderservice.unit.helper;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.helper.UserFanOutHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class UserFanOutHelperTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static UserResponse user(Long id) {
+        return new UserResponse(id, "Name" + id, "Surname", null, id + "@example.com");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void givenSlowLoader_whenFetchAll_thenCallsRunConcurrently() {
+        UserFanOutHelper helper = new UserFanOutHelper(10, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        Map<Long, UserResponse> result = helper.fetchAll(List.of(1L, 2L, 3L, 4L, 5L), id -> {
+            sleep(200);
+            return user(id);
+        });
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(result).containsOnlyKeys(1L, 2L, 3L, 4L, 5L);
+        assertThat(elapsedMillis).isLessThan(800);
+    }
+
+    @Test
+    void givenMaxInFlight_whenFetchAll_thenConcurrencyIsBounded() {
+        UserFanOutHelper helper = new UserFanOutHelper(2, Duration.ofSeconds(5));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        helper.fetchAll(List.of(1L, 2L, 3L, 4L, 5L, 6L), id -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return user(id);
+        });
+
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void givenOneSlowUser_whenFetchAll_thenOnlyThatUserUnresolvedAtDeadline() {
+        UserFanOutHelper helper = new UserFanOutHelper(10, Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        Map<Long, UserResponse> result = helper.fetchAll(List.of(1L, 2L, 3L), id -> {
+            if (id == 2L) {
+                sleep(5_000);
+            }
+            return user(id);
+        });
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(result).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(result.get(1L)).isEqualTo(user(1L));
+        assertThat(result.get(2L)).isSameAs(UserFanOutHelper.UNRESOLVED_USER);
+        assertThat(elapsedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    void givenFailingLoader_whenFetchAll_thenExceptionPropagated() {
+        UserFanOutHelper helper = new UserFanOutHelper(10, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> helper.fetchAll(List.of(1L), id -> {
+            throw new IllegalArgumentException("boom");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+    }
+
+    @Test
+    void givenAuthenticatedCaller_whenFetchAll_thenSecurityContextVisibleInWorkers() {
+        UserFanOutHelper helper = new UserFanOutHelper(10, Duration.ofSeconds(5));
+        Authentication authentication = new TestingAuthenticationToken("admin", "token", "ROLE_admin");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        Map<Long, UserResponse> result = helper.fetchAll(List.of(1L, 2L), id ->
+                SecurityContextHolder.getContext().getAuthentication() == authentication ? user(id) : null);
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+    }
+}
@@ -0,0 +1,145 @@
+package com.intern.orderservice.unit.helper;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.AuthorizationService;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.UserMicroBatcher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class UserMicroBatcherTest {
+
+    @Mock
+    private UserApiService delegate;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private static UserResponse user(Long id) {
+        return new UserResponse(id, "User" + id, "Test", null, "user" + id + "@example.com");
+    }
+
+    private static Map<Long, UserResponse> usersFor(Collection<Long> ids) {
+        return ids.stream().collect(Collectors.toMap(Function.identity(), UserMicroBatcherTest::user));
+    }
+
+    private DistributionSummary batchSizes() {
+        return meterRegistry.get(UserMicroBatcher.BATCH_SIZE_METRIC).summary();
+    }
+
+    @Test
+    void givenConcurrentLookupsWithinWindow_whenGetUserById_thenOneBulkCallAndEachCallerGetsOwnUser() throws Exception {
+        UserMicroBatcher batcher = new UserMicroBatcher(delegate, authorizationService, meterRegistry, true, Duration.ofSeconds(1), 100);
+        given(delegate.getUsersByIds(anyCollection())).willAnswer(invocation -> usersFor(invocation.getArgument(0)));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<UserResponse>> futures = List.of(1L, 2L, 3L, 2L).stream()
+                    .map(id -> executor.submit(() -> batcher.getUserById(id)))
+                    .toList();
+
+            assertThat(futures.get(0).get(5, TimeUnit.SECONDS).id()).isEqualTo(1L);
+            assertThat(futures.get(1).get(5, TimeUnit.SECONDS).id()).isEqualTo(2L);
+            assertThat(futures.get(2).get(5, TimeUnit.SECONDS).id()).isEqualTo(3L);
+            assertThat(futures.get(3).get(5, TimeUnit.SECONDS).id()).isEqualTo(2L);
+        }
+        verify(delegate, times(1)).getUsersByIds(anyCollection());
+        assertThat(batchSizes().count()).isEqualTo(1);
+        assertThat(batchSizes().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void givenBatchReachesMaxSize_whenGetUserById_thenSentWithoutWaitingForWindow() throws Exception {
+        UserMicroBatcher batcher = new UserMicroBatcher(delegate, authorizationService, meterRegistry, true, Duration.ofMinutes(1), 2);
+        given(delegate.getUsersByIds(anyCollection())).willAnswer(invocation -> usersFor(invocation.getArgument(0)));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<UserResponse> first = executor.submit(() -> batcher.getUserById(1L));
+            Future<UserResponse> second = executor.submit(() -> batcher.getUserById(2L));
+
+            assertThat(first.get(5, TimeUnit.SECONDS).id()).isEqualTo(1L);
+            assertThat(second.get(5, TimeUnit.SECONDS).id()).isEqualTo(2L);
+        }
+        verify(delegate, times(1)).getUsersByIds(anyCollection());
+        assertThat(batchSizes().max()).isEqualTo(2.0);
+    }
+
+    @Test
+    void givenBulkCallFails_whenGetUserById_thenEveryCallerGetsTheException() {
+        UserMicroBatcher batcher = new UserMicroBatcher(delegate, authorizationService, meterRegistry, true, Duration.ofMillis(1), 100);
+        HttpServerErrorException serverError = HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR,
+                "Server Error", null, null, null);
+        given(delegate.getUsersByIds(List.of(1L))).willThrow(serverError);
+
+        assertThatThrownBy(() -> batcher.getUserById(1L)).isSameAs(serverError);
+    }
+
+    @Test
+    void givenConcurrentLookupsWithDifferentTokens_whenGetUserById_thenBatchedPerTokenAndSentWithIt() throws Exception {
+        UserMicroBatcher batcher = new UserMicroBatcher(delegate, authorizationService, meterRegistry, true, Duration.ofMillis(200), 100);
+        ThreadLocal<String> token = new ThreadLocal<>();
+        HttpClientErrorException unauthorized = HttpClientErrorException.create(HttpStatus.UNAUTHORIZED,
+                "Unauthorized", null, null, null);
+        given(authorizationService.getTokenValue()).willAnswer(invocation -> token.get());
+        given(delegate.getUsersByIds(anyCollection())).willAnswer(invocation -> {
+            if ("rejected".equals(token.get())) {
+                throw unauthorized;
+            }
+            return usersFor(invocation.getArgument(0));
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<UserResponse> rejected = executor.submit(() -> {
+                token.set("rejected");
+                return batcher.getUserById(1L);
+            });
+            Future<UserResponse> accepted = executor.submit(() -> {
+                token.set("accepted");
+                return batcher.getUserById(2L);
+            });
+
+            assertThat(accepted.get(5, TimeUnit.SECONDS).id()).isEqualTo(2L);
+            assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCause(unauthorized);
+        }
+        verify(delegate).getUsersByIds(List.of(1L));
+        verify(delegate).getUsersByIds(List.of(2L));
+    }
+}
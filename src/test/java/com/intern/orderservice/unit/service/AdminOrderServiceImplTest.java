@@ -1,28 +1,46 @@
 package com.intern.orderservice.unit.service;
 
+import com.intern.orderservice.dto.projection.OrderLineProjection;
+import com.intern.orderservice.dto.request.BulkUpdateOrderStatusRequest;
 import com.intern.orderservice.dto.request.CreateOrderItemRequest;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.BulkCreateOrderResponse;
+import com.intern.orderservice.dto.response.BulkOrderResult;
+import com.intern.orderservice.dto.response.BulkUpdateOrderStatusResponse;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.exception.OrderStatusConflictException;
 import com.intern.orderservice.mapper.OrderMapper;
-import com.intern.orderservice.model.Order;
+import com.intern.orderservice.model.Item;
 import com.intern.orderservice.model.enums.OrderStatus;
 import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.AsyncUserApiService;
 import com.intern.orderservice.service.UserApiService;
 import com.intern.orderservice.service.helper.OrderCreationHelper;
+import com.intern.orderservice.service.helper.OrderPageHelper;
+import com.intern.orderservice.service.helper.UserFanOutHelper;
+import com.intern.orderservice.service.helper.UserSnapshotHelper;
 import com.intern.orderservice.service.impl.AdminOrderServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -38,23 +56,24 @@ class AdminOrderServiceImplTest {
     @Mock OrderCreationHelper orderCreationHelper;
     @Mock OrderMapper orderMapper;
     @Mock UserApiService userApiService;
+    @Mock AsyncUserApiService asyncUserApiService;
+    @Mock UserSnapshotHelper userSnapshotHelper;
+    @Spy OrderPageHelper orderPageHelper = new OrderPageHelper(PAGE_SIZE, PAGE_SIZE);
 
-    @InjectMocks AdminOrderServiceImpl service;
+    AdminOrderServiceImpl service;
 
     private static final Long USER_ID = 10L;
     private static final Long ORDER_ID = 100L;
+    private static final int PAGE_SIZE = 20;
+    private static final int BULK_CHUNK_SIZE = 2;
 
-    // Helpers to build sample objects
-    private Order sampleOrder(Long id, Long userId, OrderStatus status) {
-        Order o = new Order();
-        o.setId(id);
-        o.setUserId(userId);
-        o.setStatus(status);
-        o.setCreationDate(LocalDateTime.now());
-        o.setItems(Collections.emptyList());
-        return o;
+    @BeforeEach
+    void setUp() {
+        service = new AdminOrderServiceImpl(orderRepository, orderCreationHelper, orderMapper, userApiService,
+                asyncUserApiService, userSnapshotHelper, orderPageHelper, BULK_CHUNK_SIZE);
     }
 
+    // Helpers to build sample objects
     private UserResponse sampleUser(Long id) {
         return new UserResponse(id, "John", "Doe", LocalDate.of(1990, 1, 1), "john@example.com");
     }
@@ -63,27 +82,40 @@ class AdminOrderServiceImplTest {
         return new OrderUserResponse(id, user, status, LocalDateTime.now(), Collections.emptyList());
     }
 
+    private OrderLineProjection sampleLine(Long orderId, Long userId, OrderStatus status, Long itemId) {
+        return new OrderLineProjection(orderId, userId, status, LocalDateTime.now(),
+                null, null, null, null, null,
+                orderId * 10 + itemId, 1, itemId, "Item " + itemId, new BigDecimal("5.00"));
+    }
+
+    private void givenRealLineGrouping() {
+        given(orderMapper.toOrderUserResponses(anyList(), any())).willCallRealMethod();
+    }
+
     // getOrderById - found
     @Test
-    void givenOrderExists_whenGetOrderById_thenReturnsMappedResponse() {
-        Order order = sampleOrder(ORDER_ID, USER_ID, OrderStatus.NEW);
+    void givenOrderExists_whenGetOrderById_thenReturnsOrderWithAllLinesAndUser() {
+        List<OrderLineProjection> lines = List.of(
+                sampleLine(ORDER_ID, USER_ID, OrderStatus.NEW, 1L),
+                sampleLine(ORDER_ID, USER_ID, OrderStatus.NEW, 2L));
         UserResponse user = sampleUser(USER_ID);
-        OrderUserResponse mapped = sampleOrderUserResponse(ORDER_ID, user, order.getStatus());
 
-        given(orderRepository.findById(ORDER_ID)).willReturn(Optional.of(order));
+        given(orderRepository.findLinesById(ORDER_ID)).willReturn(lines);
         given(userApiService.getUserById(USER_ID)).willReturn(user);
-        given(orderMapper.toOrderUserResponse(order, user)).willReturn(mapped);
+        givenRealLineGrouping();
 
         Optional<OrderUserResponse> result = service.getOrderById(ORDER_ID);
 
         assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(mapped);
+        assertThat(result.get().id()).isEqualTo(ORDER_ID);
+        assertThat(result.get().user()).isEqualTo(user);
+        assertThat(result.get().items()).extracting(item -> item.item().id()).containsExactly(1L, 2L);
     }
 
     // getOrderById - not found
     @Test
     void givenOrderMissing_whenGetOrderById_thenReturnsEmpty() {
-        given(orderRepository.findById(ORDER_ID)).willReturn(Optional.empty());
+        given(orderRepository.findLinesById(ORDER_ID)).willReturn(List.of());
 
         Optional<OrderUserResponse> result = service.getOrderById(ORDER_ID);
 
@@ -94,54 +126,113 @@ class AdminOrderServiceImplTest {
     // getOrdersByIds - users missing filtered out
     @Test
     void givenOrders_whenGetOrdersByIds_thenOnlyReturnResponsesWithUsers() {
-        Order o1 = sampleOrder(1L, 1L, OrderStatus.PROCESSING);
-        Order o2 = sampleOrder(2L, 2L, OrderStatus.PROCESSING);
-        List<Order> orders = List.of(o1, o2);
-
+        List<OrderLineProjection> lines = List.of(
+                sampleLine(1L, 1L, OrderStatus.PROCESSING, 1L),
+                sampleLine(2L, 2L, OrderStatus.PROCESSING, 1L));
         UserResponse user1 = sampleUser(1L);
 
-        given(orderRepository.findAllById(List.of(1L, 2L))).willReturn(orders);
-        given(userApiService.getUserById(1L)).willReturn(user1);
-        given(userApiService.getUserById(2L)).willReturn(null);
+        given(orderRepository.findPageLinesByIdIn(eq(List.of(1L, 2L)), any(), eq(Long.MAX_VALUE), eq(PAGE_SIZE + 1)))
+                .willReturn(lines);
+        given(userApiService.getUsersByIds(Set.of(1L, 2L))).willReturn(Map.of(1L, user1));
+        givenRealLineGrouping();
+
+        List<OrderUserResponse> results = service.getOrdersByIds(List.of(1L, 2L), CursorPageRequest.firstPage()).content();
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).id()).isEqualTo(1L);
+        assertThat(results.get(0).user()).isEqualTo(user1);
+    }
 
-        OrderUserResponse resp1 = sampleOrderUserResponse(1L, user1, o1.getStatus());
-        OrderUserResponse resp2 = sampleOrderUserResponse(2L, null, o2.getStatus());
+    // getOrdersByStatuses - users not resolved in time keep their orders listed
+    @Test
+    void givenUnresolvedUser_whenGetOrdersByStatuses_thenOrderStillListed() {
+        List<OrderLineProjection> lines = List.of(
+                sampleLine(3L, 3L, OrderStatus.SHIPPED, 1L),
+                sampleLine(4L, 4L, OrderStatus.SHIPPED, 1L));
+        UserResponse u3 = sampleUser(3L);
 
-        Map<Long, UserResponse> usersMap = Map.of(1L, user1);
-        given(orderMapper.toOrderUserResponseList(o1, usersMap)).willReturn(resp1);
-        given(orderMapper.toOrderUserResponseList(o2, usersMap)).willReturn(resp2);
+        given(orderRepository.findPageLinesByStatusIn(eq(Set.of(OrderStatus.SHIPPED)), any(), any(), anyInt()))
+                .willReturn(lines);
+        given(userApiService.getUsersByIds(Set.of(3L, 4L)))
+                .willReturn(Map.of(3L, u3, 4L, UserFanOutHelper.UNRESOLVED_USER));
+        givenRealLineGrouping();
 
-        List<OrderUserResponse> results = service.getOrdersByIds(List.of(1L, 2L));
+        List<OrderUserResponse> results = service.getOrdersByStatuses(Set.of(OrderStatus.SHIPPED), CursorPageRequest.firstPage())
+                .content();
 
-        assertThat(results).hasSize(1);
-        assertThat(results.get(0)).isEqualTo(resp1);
+        assertThat(results).extracting(OrderUserResponse::id).containsExactly(3L, 4L);
+        assertThat(results.get(1).user()).isSameAs(UserFanOutHelper.UNRESOLVED_USER);
     }
 
-    // getOrdersByStatuses - similar behavior
+    // getOrdersByIds - orders with a user snapshot are not looked up remotely
     @Test
-    void givenOrders_whenGetOrdersByStatuses_thenOnlyReturnResponsesWithUsers() {
-        Order o1 = sampleOrder(3L, 3L, OrderStatus.SHIPPED);
-        Order o2 = sampleOrder(4L, 4L, OrderStatus.SHIPPED);
-        List<Order> orders = List.of(o1, o2);
+    void givenOrdersWithAndWithoutSnapshot_whenGetOrdersByIds_thenOnlyOrdersWithoutSnapshotLookedUp() {
+        OrderLineProjection withSnapshot = sampleLine(1L, 1L, OrderStatus.NEW, 1L);
+        OrderLineProjection withoutSnapshot = sampleLine(2L, 2L, OrderStatus.NEW, 1L);
+        UserResponse snapshotUser = sampleUser(1L);
+        UserResponse user2 = sampleUser(2L);
+
+        given(orderRepository.findPageLinesByIdIn(eq(List.of(1L, 2L)), any(), any(), anyInt()))
+                .willReturn(List.of(withSnapshot, withoutSnapshot));
+        given(userSnapshotHelper.getSnapshotUser(withSnapshot)).willReturn(snapshotUser);
+        given(userApiService.getUsersByIds(Set.of(2L))).willReturn(Map.of(2L, user2));
+        givenRealLineGrouping();
+
+        List<OrderUserResponse> results = service.getOrdersByIds(List.of(1L, 2L), CursorPageRequest.firstPage()).content();
+
+        assertThat(results).extracting(OrderUserResponse::user).containsExactly(snapshotUser, user2);
+        verify(userApiService, never()).getUsersByIds(Set.of(1L, 2L));
+    }
 
-        UserResponse u3 = sampleUser(3L);
-        given(orderRepository.findAllByStatusIn(Set.of(OrderStatus.SHIPPED))).willReturn(orders);
-        given(userApiService.getUserById(3L)).willReturn(u3);
-        given(userApiService.getUserById(4L)).willReturn(null);
+    // getOrderById - snapshot, no remote call
+    @Test
+    void givenOrderWithSnapshot_whenGetOrderById_thenDoesNotCallUserService() {
+        OrderLineProjection line = sampleLine(ORDER_ID, USER_ID, OrderStatus.NEW, 1L);
+        UserResponse snapshotUser = sampleUser(USER_ID);
 
-        OrderUserResponse r3 = sampleOrderUserResponse(3L, u3, o1.getStatus());
-        OrderUserResponse r4 = sampleOrderUserResponse(4L, null, o2.getStatus());
+        given(orderRepository.findLinesById(ORDER_ID)).willReturn(List.of(line));
+        given(userSnapshotHelper.getSnapshotUser(line)).willReturn(snapshotUser);
+        givenRealLineGrouping();
 
-        given(orderMapper.toOrderUserResponseList(eq(o1), anyMap())).willReturn(r3);
-        given(orderMapper.toOrderUserResponseList(eq(o2), anyMap())).willReturn(r4);
+        Optional<OrderUserResponse> result = service.getOrderById(ORDER_ID);
 
+        assertThat(result).map(OrderUserResponse::user).contains(snapshotUser);
+        verifyNoInteractions(userApiService);
+    }
 
+    // getOrdersByStatuses - similar behavior
+    @Test
+    void givenOrders_whenGetOrdersByStatuses_thenOnlyReturnResponsesWithUsers() {
+        List<OrderLineProjection> lines = List.of(
+                sampleLine(3L, 3L, OrderStatus.SHIPPED, 1L),
+                sampleLine(3L, 3L, OrderStatus.SHIPPED, 2L),
+                sampleLine(4L, 4L, OrderStatus.SHIPPED, 1L));
+        UserResponse u3 = sampleUser(3L);
 
+        given(orderRepository.findPageLinesByStatusIn(eq(Set.of(OrderStatus.SHIPPED)), any(), any(), anyInt()))
+                .willReturn(lines);
+        given(userApiService.getUsersByIds(Set.of(3L, 4L))).willReturn(Map.of(3L, u3));
+        givenRealLineGrouping();
 
-        List<OrderUserResponse> results = service.getOrdersByStatuses(Set.of(OrderStatus.SHIPPED));
+        List<OrderUserResponse> results = service.getOrdersByStatuses(Set.of(OrderStatus.SHIPPED), CursorPageRequest.firstPage())
+                .content();
 
         assertThat(results).hasSize(1);
-        assertThat(results.get(0)).isEqualTo(r3);
+        assertThat(results.get(0).id()).isEqualTo(3L);
+        assertThat(results.get(0).items()).hasSize(2);
+    }
+
+    // getOrdersByStatuses - no orders, no remote call
+    @Test
+    void givenNoOrders_whenGetOrdersByStatuses_thenDoesNotCallUserService() {
+        given(orderRepository.findPageLinesByStatusIn(eq(Set.of(OrderStatus.NEW)), any(), any(), anyInt()))
+                .willReturn(List.of());
+
+        CursorPageResponse<OrderUserResponse> results = service.getOrdersByStatuses(Set.of(OrderStatus.NEW), CursorPageRequest.firstPage());
+
+        assertThat(results.content()).isEmpty();
+        assertThat(results.next()).isNull();
+        verifyNoInteractions(userApiService);
     }
 
     // createOrder - success
@@ -152,8 +243,9 @@ class AdminOrderServiceImplTest {
         UserResponse user = sampleUser(USER_ID);
         OrderUserResponse created = sampleOrderUserResponse(200L, user, OrderStatus.NEW);
 
-        given(userApiService.getUserById(USER_ID)).willReturn(user);
-        given(orderCreationHelper.createOrderFromRequestAndUser(request, user)).willReturn(created);
+        given(asyncUserApiService.getUserByIdAsync(USER_ID)).willReturn(CompletableFuture.completedFuture(user));
+        given(orderCreationHelper.findItemsById(request)).willReturn(Map.of());
+        given(orderCreationHelper.createOrder(request, Map.of(), user)).willReturn(created);
 
         OrderUserResponse result = service.createOrder(request);
 
@@ -166,40 +258,178 @@ class AdminOrderServiceImplTest {
         CreateOrderItemRequest itemReq = new CreateOrderItemRequest(1L, 2);
         CreateOrderRequest request = new CreateOrderRequest(USER_ID, List.of(itemReq));
 
-        given(userApiService.getUserById(USER_ID)).willReturn(null);
+        given(asyncUserApiService.getUserByIdAsync(USER_ID)).willReturn(CompletableFuture.completedFuture(null));
 
         Throwable thrown = catchThrowable(() -> service.createOrder(request));
 
         assertThat(thrown).isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("User with id: " + USER_ID + " not found");
-        verifyNoMoreInteractions(orderCreationHelper);
+        verify(orderCreationHelper, never()).createOrder(any(), any(), any());
+    }
+
+    // createOrder - item lookup fails -> user lookup awaited before rethrowing
+    @Test
+    void givenItemLookupFails_whenCreateOrder_thenUserLookupCompletedBeforeThrowing() {
+        CreateOrderRequest request = new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(1L, 2)));
+        QueryTimeoutException timeout = new QueryTimeoutException("items query timed out");
+        CompletableFuture<UserResponse> userFuture = CompletableFuture.supplyAsync(() -> sampleUser(USER_ID),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        given(asyncUserApiService.getUserByIdAsync(USER_ID)).willReturn(userFuture);
+        given(orderCreationHelper.findItemsById(request)).willThrow(timeout);
+
+        Throwable thrown = catchThrowable(() -> service.createOrder(request));
+
+        assertThat(thrown).isSameAs(timeout);
+        assertThat(userFuture).isCompleted();
+    }
+
+    // createOrders - valid orders created in chunks, invalid ones reported
+    @Test
+    void givenMixedBulkRequest_whenCreateOrders_thenOneLookupEachAndResultPerOrder() {
+        Item item = new Item();
+        item.setId(1L);
+        Map<Long, Item> itemsById = Map.of(1L, item);
+        UserResponse user = sampleUser(USER_ID);
+        List<CreateOrderRequest> requests = List.of(
+                new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(1L, 1))),
+                new CreateOrderRequest(null, List.of(new CreateOrderItemRequest(1L, 1))),
+                new CreateOrderRequest(11L, List.of(new CreateOrderItemRequest(1L, 1))),
+                new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(2L, 1))),
+                new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(1L, 2))),
+                new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(1L, 3))));
+        Map<Long, UserResponse> usersById = Map.of(USER_ID, user);
+
+        given(userApiService.getUsersByIds(Set.of(USER_ID, 11L))).willReturn(usersById);
+        given(orderCreationHelper.findItemsById(requests)).willReturn(itemsById);
+        given(orderCreationHelper.findMissingItemIds(any(), eq(itemsById))).willCallRealMethod();
+        given(orderCreationHelper.createOrders(List.of(requests.get(0), requests.get(4)), itemsById, usersById))
+                .willReturn(List.of(sampleOrderUserResponse(200L, user, OrderStatus.NEW),
+                        sampleOrderUserResponse(201L, user, OrderStatus.NEW)));
+        given(orderCreationHelper.createOrders(List.of(requests.get(5)), itemsById, usersById))
+                .willReturn(List.of(sampleOrderUserResponse(202L, user, OrderStatus.NEW)));
+
+        BulkCreateOrderResponse response = service.createOrders(requests);
+
+        assertThat(response.created()).isEqualTo(3);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results()).extracting(BulkOrderResult::index).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(response.results()).extracting(BulkOrderResult::status).containsExactly(
+                HttpStatus.CREATED, HttpStatus.BAD_REQUEST, HttpStatus.NOT_FOUND,
+                HttpStatus.NOT_FOUND, HttpStatus.CREATED, HttpStatus.CREATED);
+        assertThat(response.results().get(4).order().id()).isEqualTo(201L);
+        assertThat(response.results().get(3).error()).contains("2");
+        verify(userApiService, times(1)).getUsersByIds(any());
+        verify(orderCreationHelper, times(1)).findItemsById(anyCollection());
+        verifyNoInteractions(asyncUserApiService);
+    }
+
+    // createOrders - user not resolved in time is reported unavailable, not missing
+    @Test
+    void givenUnresolvedUser_whenCreateOrders_thenReportedUnavailable() {
+        CreateOrderRequest request = new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(1L, 1)));
+
+        given(userApiService.getUsersByIds(Set.of(USER_ID))).willReturn(Map.of(USER_ID, UserFanOutHelper.UNRESOLVED_USER));
+        given(orderCreationHelper.findItemsById(List.of(request))).willReturn(Map.of());
+
+        BulkCreateOrderResponse response = service.createOrders(List.of(request));
+
+        assertThat(response.results()).extracting(BulkOrderResult::status).containsExactly(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(orderCreationHelper, never()).createOrders(any(), any(), any());
+    }
+
+    // createOrders - failed chunk retried order by order
+    @Test
+    void givenChunkFails_whenCreateOrders_thenOrdersRetriedOneByOne() {
+        Item item = new Item();
+        item.setId(1L);
+        Map<Long, Item> itemsById = Map.of(1L, item);
+        UserResponse user = sampleUser(USER_ID);
+        CreateOrderRequest good = new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(1L, 1)));
+        CreateOrderRequest bad = new CreateOrderRequest(USER_ID, List.of(new CreateOrderItemRequest(1L, 2)));
+        Map<Long, UserResponse> usersById = Map.of(USER_ID, user);
+
+        given(userApiService.getUsersByIds(Set.of(USER_ID))).willReturn(usersById);
+        given(orderCreationHelper.findItemsById(List.of(good, bad))).willReturn(itemsById);
+        given(orderCreationHelper.findMissingItemIds(any(), eq(itemsById))).willCallRealMethod();
+        given(orderCreationHelper.createOrders(List.of(good, bad), itemsById, usersById))
+                .willThrow(new IllegalStateException("constraint violated"));
+        given(orderCreationHelper.createOrders(List.of(good), itemsById, usersById))
+                .willReturn(List.of(sampleOrderUserResponse(200L, user, OrderStatus.NEW)));
+        given(orderCreationHelper.createOrders(List.of(bad), itemsById, usersById))
+                .willThrow(new IllegalStateException("constraint violated"));
+
+        BulkCreateOrderResponse response = service.createOrders(List.of(good, bad));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.results()).extracting(BulkOrderResult::status)
+                .containsExactly(HttpStatus.CREATED, HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.results().get(1).error()).isEqualTo("Order could not be created");
+    }
+
+    // updateOrdersStatus - one guarded update, no lookups unless asked for
+    @Test
+    void givenExpectedStatus_whenUpdateOrdersStatus_thenGuardedUpdateAndSkippedIdsReturned() {
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest(
+                List.of(1L, 2L, 3L, 2L), OrderStatus.SHIPPED, OrderStatus.PROCESSING);
+
+        given(orderRepository.updateStatusByIdInAndStatus(eq(Set.of(1L, 2L, 3L)), eq("SHIPPED"), eq("PROCESSING"), anyCollection()))
+                .willReturn(List.of(3L, 1L));
+
+        BulkUpdateOrderStatusResponse response = service.updateOrdersStatus(request, false);
+
+        assertThat(response.updated()).isEqualTo(2);
+        assertThat(response.skipped()).containsExactly(2L);
+        assertThat(response.orders()).isNull();
+        verify(orderRepository, never()).findLinesByIdIn(any());
+        verifyNoInteractions(userApiService, asyncUserApiService);
+    }
+
+    // updateOrdersStatus - updated orders read back with one batch user lookup
+    @Test
+    void givenIncludeOrders_whenUpdateOrdersStatus_thenUpdatedOrdersReturnedWithUsers() {
+        BulkUpdateOrderStatusRequest request = new BulkUpdateOrderStatusRequest(List.of(1L, 2L), OrderStatus.CANCELLED, null);
+        List<OrderLineProjection> lines = List.of(
+                sampleLine(1L, 1L, OrderStatus.CANCELLED, 1L),
+                sampleLine(2L, 2L, OrderStatus.CANCELLED, 1L));
+
+        given(orderRepository.updateStatusByIdIn(eq(Set.of(1L, 2L)), eq("CANCELLED"), anyCollection())).willReturn(List.of(1L, 2L));
+        given(orderRepository.findLinesByIdIn(List.of(1L, 2L))).willReturn(lines);
+        given(userApiService.getUsersByIds(Set.of(1L, 2L))).willReturn(Map.of(1L, sampleUser(1L), 2L, sampleUser(2L)));
+        givenRealLineGrouping();
+
+        BulkUpdateOrderStatusResponse response = service.updateOrdersStatus(request, true);
+
+        assertThat(response.skipped()).isEmpty();
+        assertThat(response.orders()).extracting(OrderUserResponse::id).containsExactly(1L, 2L);
+        verify(userApiService, times(1)).getUsersByIds(any());
     }
 
     // updateOrderStatusById - success
     @Test
-    void givenExistingOrder_whenUpdateOrderStatusById_thenSavesAndReturnsMapped() {
-        Order existing = sampleOrder(ORDER_ID, USER_ID, OrderStatus.NEW);
+    void givenExistingOrder_whenUpdateOrderStatusById_thenConditionalUpdateAndReturnsMapped() {
         UpdateOrderStatusRequest req = new UpdateOrderStatusRequest(OrderStatus.DELIVERED);
-        Order saved = sampleOrder(ORDER_ID, USER_ID, OrderStatus.DELIVERED);
-
+        List<OrderLineProjection> lines = List.of(sampleLine(ORDER_ID, USER_ID, OrderStatus.DELIVERED, 1L));
         UserResponse user = sampleUser(USER_ID);
-        OrderUserResponse mapped = sampleOrderUserResponse(ORDER_ID, user, OrderStatus.DELIVERED);
 
-        given(orderRepository.findById(ORDER_ID)).willReturn(Optional.of(existing));
-        given(orderRepository.save(existing)).willReturn(saved);
+        given(orderRepository.updateStatusById(ORDER_ID, OrderStatus.DELIVERED, OrderStatus.TERMINAL)).willReturn(1);
+        given(orderRepository.findLinesById(ORDER_ID)).willReturn(lines);
         given(userApiService.getUserById(USER_ID)).willReturn(user);
-        given(orderMapper.toOrderUserResponse(saved, user)).willReturn(mapped);
+        givenRealLineGrouping();
 
         OrderUserResponse result = service.updateOrderStatusById(ORDER_ID, req);
 
-        assertThat(result).isEqualTo(mapped);
+        assertThat(result.status()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(result.user()).isEqualTo(user);
+        verify(orderRepository, never()).findStatusById(any());
     }
 
     // updateOrderStatusById - missing -> exception
     @Test
     void givenMissingOrder_whenUpdateOrderStatusById_thenThrowsEntityNotFoundException() {
-        given(orderRepository.findById(ORDER_ID)).willReturn(Optional.empty());
         UpdateOrderStatusRequest req = new UpdateOrderStatusRequest(OrderStatus.DELIVERED);
+        given(orderRepository.updateStatusById(ORDER_ID, OrderStatus.DELIVERED, OrderStatus.TERMINAL)).willReturn(0);
+        given(orderRepository.findStatusById(ORDER_ID)).willReturn(Optional.empty());
 
         Throwable thrown = catchThrowable(() -> service.updateOrderStatusById(ORDER_ID, req));
 
@@ -208,20 +438,35 @@ class AdminOrderServiceImplTest {
         verifyNoMoreInteractions(orderRepository, userApiService, orderMapper);
     }
 
+    // updateOrderStatusById - terminal status -> conflict
+    @Test
+    void givenOrderInTerminalStatus_whenUpdateOrderStatusById_thenThrowsOrderStatusConflictException() {
+        UpdateOrderStatusRequest req = new UpdateOrderStatusRequest(OrderStatus.PROCESSING);
+        given(orderRepository.updateStatusById(ORDER_ID, OrderStatus.PROCESSING, OrderStatus.TERMINAL)).willReturn(0);
+        given(orderRepository.findStatusById(ORDER_ID)).willReturn(Optional.of(OrderStatus.CANCELLED));
+
+        Throwable thrown = catchThrowable(() -> service.updateOrderStatusById(ORDER_ID, req));
+
+        assertThat(thrown).isInstanceOf(OrderStatusConflictException.class)
+                .hasMessageContaining("CANCELLED");
+        verifyNoMoreInteractions(orderRepository, userApiService, orderMapper);
+    }
+
     // deleteOrderById - success
     @Test
     void givenExistingOrder_whenDeleteOrderById_thenDeletes() {
-        given(orderRepository.existsById(ORDER_ID)).willReturn(true);
+        given(orderRepository.deleteOrderById(ORDER_ID)).willReturn(1);
 
         service.deleteOrderById(ORDER_ID);
 
-        verify(orderRepository, times(1)).deleteById(ORDER_ID);
+        verify(orderRepository, times(1)).deleteOrderById(ORDER_ID);
+        verifyNoMoreInteractions(orderRepository);
     }
 
     // deleteOrderById - missing -> exception
     @Test
     void givenMissingOrder_whenDeleteOrderById_thenThrowsEntityNotFoundException() {
-        given(orderRepository.existsById(ORDER_ID)).willReturn(false);
+        given(orderRepository.deleteOrderById(ORDER_ID)).willReturn(0);
 
         Throwable thrown = catchThrowable(() -> service.deleteOrderById(ORDER_ID));
 
@@ -0,0 +1,81 @@
+package com.intern.orderservice.unit.service;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.CurrentUserService;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.FutureUtils;
+import com.intern.orderservice.service.impl.AsyncUserApiServiceImpl;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class AsyncUserApiServiceImplTest {
+
+    @Mock
+    private UserApiService userApiService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    private AsyncUserApiServiceImpl service;
+
+    private final UserResponse user = new UserResponse(7L, "Alice", "Smith", LocalDate.of(1985, 6, 15), "alice@example.com");
+
+    @BeforeEach
+    void setUp() {
+        service = new AsyncUserApiServiceImpl(userApiService, currentUserService);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void givenCallerContext_whenGetUserByIdAsync_thenContextVisibleToLookup() {
+        Authentication authentication = new TestingAuthenticationToken("admin", "token", "ROLE_admin");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        given(userApiService.getUserById(7L)).willAnswer(invocation ->
+                SecurityContextHolder.getContext().getAuthentication() == authentication
+                        && RequestContextHolder.getRequestAttributes() == attributes ? user : null);
+
+        UserResponse result = FutureUtils.join(service.getUserByIdAsync(7L));
+
+        assertThat(result).isEqualTo(user);
+    }
+
+    @Test
+    void givenOpenCircuit_whenJoinGetCurrentUserByEmailAsync_thenOriginalExceptionRethrown() {
+        CallNotPermittedException open = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults("UserService"));
+        given(currentUserService.getUserByEmail(user.email())).willThrow(open);
+
+        CompletableFuture<UserResponse> future = service.getCurrentUserByEmailAsync(user.email());
+
+        assertThatThrownBy(() -> FutureUtils.join(future)).isSameAs(open);
+    }
+}
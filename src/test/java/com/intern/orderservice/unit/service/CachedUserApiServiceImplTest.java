@@ -0,0 +1,277 @@
+package com.intern.orderservice.unit.service;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.LastKnownUserStore;
+import com.intern.orderservice.service.helper.UserFanOutHelper;
+import com.intern.orderservice.service.helper.UserMicroBatcher;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import com.intern.orderservice.service.impl.CachedUserApiServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class CachedUserApiServiceImplTest {
+
+    @Mock
+    private UserApiService delegate;
+
+    @Mock
+    private UserFanOutHelper fanOutHelper;
+
+    @Mock
+    private UserMicroBatcher microBatcher;
+
+    private LastKnownUserStore lastKnownUserStore;
+    private SimpleMeterRegistry meterRegistry;
+    private CachedUserApiServiceImpl service;
+
+    private final Long userId = 7L;
+    private final String email = "alice@example.com";
+    private UserResponse user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lastKnownUserStore = new LastKnownUserStore(meterRegistry, 100, Duration.ofHours(1));
+        service = new CachedUserApiServiceImpl(delegate, meterRegistry, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), 2,
+                CachedUserApiServiceImpl.LookupMode.BULK, fanOutHelper, lastKnownUserStore, microBatcher);
+        user = new UserResponse(userId, "Alice", "Smith", LocalDate.of(1985, 6, 15), email);
+    }
+
+    @Test
+    void givenCachedUser_whenGetUserByIdTwice_thenDelegateCalledOnce() {
+        given(delegate.getUserById(userId)).willReturn(user);
+
+        UserResponse first = service.getUserById(userId);
+        UserResponse second = service.getUserById(userId);
+
+        assertThat(first).isEqualTo(user);
+        assertThat(second).isEqualTo(user);
+        verify(delegate, times(1)).getUserById(userId);
+    }
+
+    @Test
+    void givenNotFoundPlaceholder_whenGetUserByIdTwice_thenPlaceholderIsCached() {
+        UserResponse notFound = new UserResponse(null, HttpStatus.NOT_FOUND.toString(), null, null, null);
+        given(delegate.getUserById(999L)).willReturn(notFound);
+
+        service.getUserById(999L);
+        UserResponse second = service.getUserById(999L);
+
+        assertThat(second.id()).isNull();
+        verify(delegate, times(1)).getUserById(999L);
+    }
+
+    @Test
+    void givenUserLoadedByEmail_whenGetUserById_thenServedFromCache() {
+        given(delegate.getUserByEmail(email)).willReturn(user);
+
+        service.getUserByEmail(email);
+        UserResponse byId = service.getUserById(userId);
+
+        assertThat(byId).isEqualTo(user);
+        verify(delegate, never()).getUserById(userId);
+    }
+
+    @Test
+    void givenCachedUser_whenEvictUser_thenNextLookupsReload() {
+        given(delegate.getUserById(userId)).willReturn(user);
+        given(delegate.getUserByEmail(email)).willReturn(user);
+        service.getUserById(userId);
+        service.getUserByEmail(email);
+
+        service.evictUser(userId);
+        service.getUserById(userId);
+        service.getUserByEmail(email);
+
+        verify(delegate, times(2)).getUserById(userId);
+        verify(delegate, times(2)).getUserByEmail(email);
+    }
+
+    @Test
+    void givenLookups_whenGetUserById_thenHitAndMissMetricsRecorded() {
+        given(delegate.getUserById(userId)).willReturn(user);
+
+        service.getUserById(userId);
+        service.getUserById(userId);
+
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", CachedUserApiServiceImpl.USERS_BY_ID_CACHE)
+                .tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", CachedUserApiServiceImpl.USERS_BY_ID_CACHE)
+                .tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenPartiallyCachedIds_whenGetUsersByIds_thenOnlyMissesRequestedInChunks() {
+        given(delegate.getUserById(userId)).willReturn(user);
+        service.getUserById(userId);
+
+        UserResponse u1 = new UserResponse(1L, "A", "A", null, "a@example.com");
+        UserResponse u2 = new UserResponse(2L, "B", "B", null, "b@example.com");
+        UserResponse u3 = new UserResponse(3L, "C", "C", null, "c@example.com");
+        given(delegate.getUsersByIds(List.of(1L, 2L))).willReturn(Map.of(1L, u1, 2L, u2));
+        given(delegate.getUsersByIds(List.of(3L))).willReturn(Map.of(3L, u3));
+
+        Map<Long, UserResponse> result = service.getUsersByIds(List.of(userId, 1L, 2L, 3L, 1L));
+
+        assertThat(result).containsOnlyKeys(userId, 1L, 2L, 3L);
+        assertThat(service.getUsersByIds(List.of(1L, 2L, 3L))).containsValues(u1, u2, u3);
+        verify(delegate, times(1)).getUsersByIds(List.of(1L, 2L));
+        verify(delegate, times(1)).getUsersByIds(List.of(3L));
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void givenFanOutMode_whenGetUsersByIds_thenMissesResolvedByFanOutAndCached() {
+        service = new CachedUserApiServiceImpl(delegate, meterRegistry, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), 2,
+                CachedUserApiServiceImpl.LookupMode.FAN_OUT, new UserFanOutHelper(4, Duration.ofSeconds(5)), lastKnownUserStore, microBatcher);
+        given(delegate.getUserById(userId)).willReturn(user);
+
+        Map<Long, UserResponse> result = service.getUsersByIds(List.of(userId));
+        UserResponse cached = service.getUserById(userId);
+
+        assertThat(result).containsEntry(userId, user);
+        assertThat(cached).isEqualTo(user);
+        verify(delegate, times(1)).getUserById(userId);
+        verify(delegate, never()).getUsersByIds(any());
+    }
+
+    @Test
+    void givenMicroBatchingEnabled_whenGetUserById_thenMissResolvedByBatcherAndCached() {
+        given(microBatcher.isEnabled()).willReturn(true);
+        given(microBatcher.getUserById(userId)).willReturn(user);
+
+        UserResponse first = service.getUserById(userId);
+        UserResponse second = service.getUserById(userId);
+
+        assertThat(first).isEqualTo(user);
+        assertThat(second).isEqualTo(user);
+        verify(microBatcher, times(1)).getUserById(userId);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void givenConcurrentMissesForSameId_whenGetUserById_thenOneRemoteCallAndWaitersCounted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        given(delegate.getUserById(userId)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return user;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<UserResponse> first = executor.submit(() -> service.getUserById(userId));
+            Future<UserResponse> second = executor.submit(() -> service.getUserById(userId));
+            while (meterRegistry.get(CachedUserApiServiceImpl.COALESCED_METRIC)
+                    .tag("operation", "getUserById").counter().count() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(user);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(user);
+        }
+        verify(delegate, times(1)).getUserById(userId);
+    }
+
+    @Test
+    void givenOpenCircuitAndKnownUser_whenGetUserById_thenServesStaleAndCountsIt() {
+        CallNotPermittedException open = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults("UserService"));
+        given(delegate.getUserById(userId)).willReturn(user).willThrow(open);
+        service.getUserById(userId);
+        service.evictUser(userId);
+
+        UserResponse stale = service.getUserById(userId);
+
+        assertThat(stale).isEqualTo(user);
+        assertThat(meterRegistry.get(LastKnownUserStore.STALE_SERVED_METRIC).tag("lookup", "id").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void givenForgottenUser_whenCircuitOpen_thenNotServedStale() {
+        CallNotPermittedException open = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults("UserService"));
+        given(delegate.getUserById(userId)).willReturn(user).willThrow(open);
+        service.getUserById(userId);
+        service.evictUser(userId);
+        lastKnownUserStore.forget(userId);
+
+        assertThatThrownBy(() -> service.getUserById(userId)).isSameAs(open);
+    }
+
+    @Test
+    void givenTimeoutForBulkLookup_whenGetUsersByIds_thenKnownUsersServedStale() {
+        given(delegate.getUsersByIds(List.of(userId))).willReturn(Map.of(userId, user));
+        service.getUsersByIds(List.of(userId));
+        service.evictUser(userId);
+        given(delegate.getUsersByIds(List.of(userId, 8L))).willThrow(new ResourceAccessException("Read timed out"));
+
+        Map<Long, UserResponse> result = service.getUsersByIds(List.of(userId, 8L));
+
+        assertThat(result).containsOnlyKeys(userId);
+    }
+
+    @Test
+    void givenServerErrorAndKnownUser_whenGetUserById_thenRethrows() {
+        HttpServerErrorException serverError = HttpServerErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR,
+                "Server Error", null, null, null);
+        given(delegate.getUserById(userId)).willReturn(user).willThrow(serverError);
+        service.getUserById(userId);
+        service.evictUser(userId);
+
+        assertThatThrownBy(() -> service.getUserById(userId)).isSameAs(serverError);
+    }
+
+    @Test
+    void givenUserServedStale_whenCircuitHalfOpens_thenRefreshedByNextReadOnly() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("UserService");
+        AtomicReference<UserResponse> remoteUser = new AtomicReference<>(user);
+        given(delegate.getUserById(userId)).willAnswer(invocation -> circuitBreaker.executeSupplier(remoteUser::get));
+        lastKnownUserStore.remember(user);
+        circuitBreaker.transitionToOpenState();
+        assertThat(service.getUserById(userId)).isEqualTo(user);
+
+        UserResponse renamed = new UserResponse(userId, "Alicia", "Smith", LocalDate.of(1985, 6, 15), email);
+        remoteUser.set(renamed);
+        circuitBreaker.transitionToHalfOpenState();
+
+        // the transition itself sends nothing, the half-open permits are left to live reads
+        verify(delegate, times(1)).getUserById(userId);
+        assertThat(service.getUserById(userId)).isEqualTo(renamed);
+        assertThat(service.getUserById(userId)).isEqualTo(renamed);
+        verify(delegate, times(2)).getUserById(userId);
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.intern.orderservice.unit.service;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.AuthorizationService;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.LastKnownUserStore;
+import com.intern.orderservice.service.impl.CurrentUserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class CurrentUserServiceImplTest {
+
+    @Mock
+    private UserApiService userApiService;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private LastKnownUserStore lastKnownUserStore;
+
+    private CurrentUserServiceImpl service;
+
+    private final String email = "bob@example.com";
+    private UserResponse user;
+
+    @BeforeEach
+    void setUp() {
+        service = new CurrentUserServiceImpl(userApiService, authorizationService, lastKnownUserStore,
+                new SimpleMeterRegistry(), 100);
+        user = new UserResponse(42L, "Bob", "Builder", LocalDate.of(1990, 1, 1), email);
+    }
+
+    private void givenToken(Instant expiresAt) {
+        given(authorizationService.getSubject()).willReturn("subject-1");
+        given(authorizationService.getEmail()).willReturn(email);
+        given(authorizationService.getExpiresAt()).willReturn(expiresAt);
+    }
+
+    @Test
+    void givenValidToken_whenGetUserByEmailTwice_thenUserServiceCalledOnce() {
+        givenToken(Instant.now().plus(Duration.ofMinutes(5)));
+        given(userApiService.getUserByEmail(email)).willReturn(user);
+
+        UserResponse first = service.getUserByEmail(email);
+        UserResponse second = service.getUserByEmail(email);
+
+        assertThat(first).isEqualTo(user);
+        assertThat(second).isEqualTo(user);
+        verify(userApiService, times(1)).getUserByEmail(email);
+    }
+
+    @Test
+    void givenCachedTokenUser_whenEvictUser_thenReloaded() {
+        givenToken(Instant.now().plus(Duration.ofMinutes(5)));
+        given(userApiService.getUserByEmail(email)).willReturn(user);
+        service.getUserByEmail(email);
+
+        service.evictUser(user.id());
+        service.getUserByEmail(email);
+
+        verify(userApiService, times(2)).getUserByEmail(email);
+    }
+
+    @Test
+    void givenExpiredToken_whenGetUserByEmailTwice_thenNotCached() {
+        givenToken(Instant.now().minusSeconds(1));
+        given(userApiService.getUserByEmail(email)).willReturn(user);
+
+        service.getUserByEmail(email);
+        service.getUserByEmail(email);
+
+        verify(userApiService, times(2)).getUserByEmail(email);
+    }
+
+    @Test
+    void givenNoToken_whenGetUserByEmailTwice_thenNotCached() {
+        given(userApiService.getUserByEmail(email)).willReturn(user);
+
+        service.getUserByEmail(email);
+        service.getUserByEmail(email);
+
+        verify(userApiService, times(2)).getUserByEmail(email);
+    }
+
+    @Test
+    void givenStaleUser_whenGetUserByEmail_thenNotCachedForToken() {
+        givenToken(Instant.now().plus(Duration.ofMinutes(5)));
+        given(userApiService.getUserByEmail(email)).willReturn(user);
+        given(lastKnownUserStore.isResponseStale()).willReturn(true);
+
+        service.getUserByEmail(email);
+        service.getUserByEmail(email);
+
+        verify(userApiService, times(2)).getUserByEmail(email);
+    }
+}
@@ -6,8 +6,11 @@ import com.intern.orderservice.exception.ItemAlreadyExistsException;
 import com.intern.orderservice.mapper.ItemMapper;
 import com.intern.orderservice.model.Item;
 import com.intern.orderservice.repository.ItemRepository;
+import com.intern.orderservice.service.helper.ItemCatalogCache;
 import com.intern.orderservice.service.impl.ItemServiceImpl;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
@@ -30,8 +33,10 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
 @Tag("unit")
@@ -43,6 +48,12 @@ class ItemServiceImplTest {
     @Mock
     ItemMapper itemMapper;
 
+    @Mock
+    ItemCatalogCache itemCatalogCache;
+
+    @Mock
+    EntityManager entityManager;
+
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -61,15 +72,9 @@ class ItemServiceImplTest {
         @DisplayName("returns mapped ItemResponse when item exists")
         void returnsMappedItemResponseWhenItemExists() {
             // given
-            Item item = new Item();
-            item.setId(ID);
-            item.setName(NAME);
-            item.setPrice(PRICE);
-
             ItemResponse response = new ItemResponse(ID, NAME, PRICE);
 
-            given(itemRepository.findById(ID)).willReturn(Optional.of(item));
-            given(itemMapper.toItemResponse(item)).willReturn(response);
+            given(itemCatalogCache.get(ID)).willReturn(Optional.of(response));
 
             // when
             Optional<ItemResponse> result = itemService.getById(ID);
@@ -83,7 +88,7 @@ class ItemServiceImplTest {
         @DisplayName("returns empty when item does not exist")
         void returnsEmptyWhenItemDoesNotExist() {
             // given
-            given(itemRepository.findById(ID)).willReturn(Optional.empty());
+            given(itemCatalogCache.get(ID)).willReturn(Optional.empty());
 
             // when
             Optional<ItemResponse> result = itemService.getById(ID);
@@ -101,18 +106,12 @@ class ItemServiceImplTest {
         @DisplayName("returns page of mapped ItemResponse")
         void returnsPageOfMappedItemResponse() {
             // given
-            Item item = new Item();
-            item.setId(ID);
-            item.setName(NAME);
-            item.setPrice(PRICE);
-
             ItemResponse response = new ItemResponse(ID, NAME, PRICE);
 
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Item> page = new PageImpl<>(List.of(item), pageable, 1);
+            Page<ItemResponse> page = new PageImpl<>(List.of(response), pageable, 1);
 
-            given(itemRepository.findAll(pageable)).willReturn(page);
-            given(itemMapper.toItemResponse(item)).willReturn(response);
+            given(itemRepository.findAllResponses(pageable)).willReturn(page);
 
             // when
             Page<ItemResponse> result = itemService.getAll(pageable);
@@ -145,7 +144,7 @@ class ItemServiceImplTest {
 
             ItemResponse response = new ItemResponse(ID, NAME, PRICE);
 
-            given(itemRepository.existsByNameAndPrice(NAME, PRICE)).willReturn(false);
+            given(itemRepository.existsByNameAndPriceAndRetiredFalse(NAME, PRICE)).willReturn(false);
             given(itemMapper.toItem(request)).willReturn(toSave);
             given(itemRepository.save(toSave)).willReturn(saved);
             given(itemMapper.toItemResponse(saved)).willReturn(response);
@@ -160,6 +159,7 @@ class ItemServiceImplTest {
             Item captured = itemCaptor.getValue();
             assertThat(captured.getName()).isEqualTo(NAME);
             assertThat(captured.getPrice()).isEqualTo(PRICE);
+            verify(itemCatalogCache).put(response);
         }
 
         @Test
@@ -167,7 +167,7 @@ class ItemServiceImplTest {
         void throwsWhenItemAlreadyExists() {
             // given
             CreateItemRequest request = new CreateItemRequest(NAME, PRICE);
-            given(itemRepository.existsByNameAndPrice(NAME, PRICE)).willReturn(true);
+            given(itemRepository.existsByNameAndPriceAndRetiredFalse(NAME, PRICE)).willReturn(true);
 
             // when / then
             assertThatThrownBy(() -> itemService.create(request))
@@ -175,6 +175,24 @@ class ItemServiceImplTest {
                     .hasMessageContaining(NAME);
             verify(itemRepository, never()).save(org.mockito.ArgumentMatchers.any());
         }
+
+        @Test
+        @DisplayName("throws ItemAlreadyExistsException when a concurrent create wins the unique index")
+        void throwsWhenConcurrentCreateWins() {
+            // given
+            CreateItemRequest request = new CreateItemRequest(NAME, PRICE);
+            Item toSave = new Item();
+            given(itemRepository.existsByNameAndPriceAndRetiredFalse(NAME, PRICE)).willReturn(false);
+            given(itemMapper.toItem(request)).willReturn(toSave);
+            willThrow(new ConstraintViolationException("duplicate key", null, "idx_items_name_price_active"))
+                    .given(entityManager).flush();
+
+            // when / then
+            assertThatThrownBy(() -> itemService.create(request))
+                    .isInstanceOf(ItemAlreadyExistsException.class)
+                    .hasMessageContaining(NAME);
+            verify(itemCatalogCache, never()).put(org.mockito.ArgumentMatchers.any());
+        }
     }
 
     @Nested
@@ -182,29 +200,31 @@ class ItemServiceImplTest {
     class Delete {
 
         @Test
-        @DisplayName("deletes when item exists")
-        void deletesWhenItemExists() {
+        @DisplayName("retires when item exists")
+        void retiresWhenItemExists() {
             // given
-            given(itemRepository.existsById(ID)).willReturn(true);
+            given(itemRepository.retireItemById(ID)).willReturn(1);
 
             // when
             itemService.delete(ID);
 
             // then
-            verify(itemRepository).deleteById(ID);
+            verify(itemRepository).retireItemById(ID);
+            verify(itemCatalogCache).invalidate(ID);
+            verifyNoMoreInteractions(itemRepository);
         }
 
         @Test
-        @DisplayName("throws EntityNotFoundException when item does not exist")
+        @DisplayName("throws EntityNotFoundException when item does not exist or is retired")
         void throwsWhenItemDoesNotExist() {
             // given
-            given(itemRepository.existsById(ID)).willReturn(false);
+            given(itemRepository.retireItemById(ID)).willReturn(0);
 
             // when / then
             assertThatThrownBy(() -> itemService.delete(ID))
                     .isInstanceOf(EntityNotFoundException.class)
                     .hasMessageContaining("Item with id " + ID);
-            verify(itemRepository, never()).deleteById(ID);
+            verify(itemCatalogCache, never()).invalidate(ID);
         }
     }
 }
@@ -0,0 +1,126 @@
+package com.intern.orderservice.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intern.orderservice.dto.projection.OrderLineProjection;
+import com.intern.orderservice.dto.response.OrderUserResponse;
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.mapper.OrderMapper;
+import com.intern.orderservice.model.enums.OrderStatus;
+import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.helper.UserSnapshotHelper;
+import com.intern.orderservice.service.impl.OrderExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class OrderExportServiceImplTest {
+
+    private static final Set<OrderStatus> STATUSES = Set.of(OrderStatus.DELIVERED);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private UserApiService userApiService;
+
+    @Mock
+    private UserSnapshotHelper userSnapshotHelper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderExportServiceImpl(orderRepository, orderMapper, userApiService, userSnapshotHelper, objectMapper, 2);
+        given(orderMapper.toOrderUserResponses(anyList(), any())).willCallRealMethod();
+    }
+
+    private static OrderLineProjection line(Long orderId, Long userId, Long itemId) {
+        return new OrderLineProjection(orderId, userId, OrderStatus.DELIVERED, LocalDateTime.of(2026, 1, 1, 0, 0),
+                null, null, null, null, null,
+                orderId * 10 + itemId, 1, itemId, "Item " + itemId, new BigDecimal("5.00"));
+    }
+
+    private static UserResponse user(Long id) {
+        return new UserResponse(id, "User" + id, "Test", LocalDate.of(1990, 1, 1), "user" + id + "@example.com");
+    }
+
+    @Test
+    void givenOrdersOverSeveralChunks_whenExport_thenOneJsonLinePerOrderAndOneUserLookupPerChunk() throws IOException {
+        given(orderRepository.streamLinesByStatusIn(STATUSES)).willReturn(Stream.of(
+                line(1L, 1L, 1L), line(1L, 1L, 2L),
+                line(2L, 2L, 1L),
+                line(3L, 1L, 1L)));
+        given(userApiService.getUsersByIds(Set.of(1L, 2L))).willReturn(Map.of(1L, user(1L), 2L, user(2L)));
+        given(userApiService.getUsersByIds(Set.of(1L))).willReturn(Map.of(1L, user(1L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportOrdersByStatuses(STATUSES, out);
+
+        List<OrderUserResponse> exported = out.toString(StandardCharsets.UTF_8).lines()
+                .map(json -> {
+                    try {
+                        return objectMapper.readValue(json, OrderUserResponse.class);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        assertThat(exported).extracting(OrderUserResponse::id).containsExactly(1L, 2L, 3L);
+        assertThat(exported.getFirst().items()).hasSize(2);
+        assertThat(exported).extracting(OrderUserResponse::user).containsExactly(user(1L), user(2L), user(1L));
+        verify(userApiService).getUsersByIds(Set.of(1L, 2L));
+        verify(userApiService).getUsersByIds(Set.of(1L));
+    }
+
+    @Test
+    void givenClientDisconnects_whenExport_thenCursorClosedAndNoMoreRowsRead() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<OrderLineProjection> lines = Stream.iterate(1L, orderId -> orderId + 1)
+                .map(orderId -> line(orderId, 1L, 1L))
+                .onClose(() -> closed.set(true));
+        given(orderRepository.streamLinesByStatusIn(STATUSES)).willReturn(lines);
+        given(userApiService.getUsersByIds(Set.of(1L))).willReturn(Map.of(1L, user(1L)));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service.exportOrdersByStatuses(STATUSES, disconnected))
+                .isInstanceOf(IOException.class);
+        assertThat(closed).isTrue();
+        verify(userApiService, times(1)).getUsersByIds(any());
+    }
+}
@@ -1,7 +1,10 @@
 package com.intern.orderservice.unit.service;
 
 import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.service.helper.AdaptiveConcurrencyLimiter;
+import com.intern.orderservice.service.helper.RequestHedger;
 import com.intern.orderservice.service.impl.UserApiServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +15,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -27,10 +33,13 @@ class UserApiServiceImplTest {
 
     private final String USERS_SEARCH_ENDPOINT = "/users/search?email=";
     private final String USERS_ENDPOINT = "/users/";
+    private final String USERS_BATCH_ENDPOINT = "/users?ids=";
     private final String USERSERVICE_URL = "http://userservice";
 
     private UserApiServiceImpl service() {
-        return new UserApiServiceImpl(restTemplate, USERS_SEARCH_ENDPOINT, USERS_ENDPOINT, USERSERVICE_URL);
+        RequestHedger disabledHedger = new RequestHedger(new SimpleMeterRegistry(), false, 0.95, Duration.ofMillis(50), 0.1, 10);
+        AdaptiveConcurrencyLimiter disabledLimiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), false, 20, 4, 50, Duration.ofSeconds(1), 0.9);
+        return new UserApiServiceImpl(restTemplate, disabledHedger, disabledLimiter, USERS_SEARCH_ENDPOINT, USERS_ENDPOINT, USERS_BATCH_ENDPOINT, USERSERVICE_URL);
     }
 
     @Test
@@ -106,4 +115,35 @@ class UserApiServiceImplTest {
                 () -> service().getUserByIdFallback(userId, serverError));
         assertThat(thrown).isSameAs(serverError);
     }
+
+    @Test
+    void givenSomeExistingUserIds_whenGetUsersByIds_thenMissingIdsMappedToNotFoundPlaceholder() {
+        // Given
+        UserResponse existing = new UserResponse(1L, "John", "Doe",
+                LocalDate.of(1990, 1, 1), "john.doe@example.com");
+        String url = USERSERVICE_URL + USERS_BATCH_ENDPOINT + "1,2";
+        ResponseEntity<UserResponse[]> entity = new ResponseEntity<>(new UserResponse[]{existing}, HttpStatus.OK);
+        when(restTemplate.getForEntity(url, UserResponse[].class)).thenReturn(entity);
+
+        // When
+        Map<Long, UserResponse> actual = service().getUsersByIds(List.of(1L, 2L));
+
+        // Then
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(1L)).isEqualTo(existing);
+        assertThat(actual.get(2L).id()).isNull();
+        assertThat(actual.get(2L).name()).isEqualTo(HttpStatus.NOT_FOUND.toString());
+    }
+
+    @Test
+    void givenHttp500Error_whenGetUsersByIdsFallback_thenRethrowsException() {
+        // Given
+        HttpClientErrorException serverError =
+                HttpClientErrorException.create(HttpStatus.INTERNAL_SERVER_ERROR, "Server Error", null, null, null);
+
+        // When / Then
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> service().getUsersByIdsFallback(List.of(1L, 2L), serverError));
+        assertThat(thrown).isSameAs(serverError);
+    }
 }
@@ -0,0 +1,40 @@
+package com.intern.orderservice.unit.service;
+
+import com.intern.orderservice.service.CurrentUserService;
+import com.intern.orderservice.service.helper.LastKnownUserStore;
+import com.intern.orderservice.service.impl.CachedUserApiServiceImpl;
+import com.intern.orderservice.service.impl.UserCacheServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class UserCacheServiceImplTest {
+
+    @Mock
+    private CachedUserApiServiceImpl cachedUserApiService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private LastKnownUserStore lastKnownUserStore;
+
+    @InjectMocks
+    private UserCacheServiceImpl service;
+
+    @Test
+    void givenUserId_whenEvictUser_thenEvictedFromEveryCache() {
+        service.evictUser(7L);
+
+        verify(cachedUserApiService).evictUser(7L);
+        verify(currentUserService).evictUser(7L);
+        verify(lastKnownUserStore).forget(7L);
+    }
+}
@@ -1,16 +1,21 @@
 package com.intern.orderservice.unit.service;
 
+import com.intern.orderservice.dto.projection.OrderLineProjection;
 import com.intern.orderservice.dto.request.CreateOrderRequest;
+import com.intern.orderservice.dto.request.CursorPageRequest;
 import com.intern.orderservice.dto.request.UpdateOrderStatusRequest;
+import com.intern.orderservice.dto.response.CursorPageResponse;
 import com.intern.orderservice.dto.response.OrderUserResponse;
 import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.exception.OrderStatusConflictException;
 import com.intern.orderservice.exception.StatusModificationIllegalAccessException;
 import com.intern.orderservice.mapper.OrderMapper;
-import com.intern.orderservice.model.Order;
 import com.intern.orderservice.model.enums.OrderStatus;
 import com.intern.orderservice.repository.OrderRepository;
-import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.AsyncUserApiService;
+import com.intern.orderservice.service.CurrentUserService;
 import com.intern.orderservice.service.helper.OrderCreationHelper;
+import com.intern.orderservice.service.helper.OrderPageHelper;
 import com.intern.orderservice.service.impl.UserOrderServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.assertj.core.api.Assertions;
@@ -20,15 +25,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
@@ -36,8 +49,10 @@ import static org.mockito.Mockito.verify;
 @Tag("unit")
 class UserOrderServiceImplTest {
 
+    private static final int PAGE_SIZE = 20;
+
     @Mock
-    private UserApiService userApiService;
+    private CurrentUserService currentUserService;
 
     @Mock
     private OrderRepository orderRepository;
@@ -48,6 +63,12 @@ class UserOrderServiceImplTest {
     @Mock
     private OrderCreationHelper orderCreationHelper;
 
+    @Mock
+    private AsyncUserApiService asyncUserApiService;
+
+    @Spy
+    private OrderPageHelper orderPageHelper = new OrderPageHelper(PAGE_SIZE, PAGE_SIZE);
+
     @InjectMocks
     private UserOrderServiceImpl userOrderService;
 
@@ -64,13 +85,13 @@ class UserOrderServiceImplTest {
     void getUserOrderById_whenOrderExists_returnsMappedOrderUserResponse() {
         // given
         Long orderId = 100L;
-        Order fakeOrder = org.mockito.Mockito.mock(Order.class);
+        List<OrderLineProjection> lines = List.of(org.mockito.Mockito.mock(OrderLineProjection.class));
 
         OrderUserResponse mapped = new OrderUserResponse(orderId, userResponse, OrderStatus.NEW, LocalDateTime.now(), Collections.emptyList());
 
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.findByIdAndUserId(orderId, userId)).willReturn(Optional.of(fakeOrder));
-        given(orderMapper.toOrderUserResponse(fakeOrder, userResponse)).willReturn(mapped);
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.findLinesByIdAndUserId(orderId, userId)).willReturn(lines);
+        given(orderMapper.toOrderUserResponses(eq(lines), any())).willReturn(List.of(mapped));
 
         // when
         Optional<OrderUserResponse> result = userOrderService.getUserOrderById(orderId, email);
@@ -85,8 +106,9 @@ class UserOrderServiceImplTest {
         // given
         Long orderId = 101L;
 
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.findByIdAndUserId(orderId, userId)).willReturn(Optional.empty());
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.findLinesByIdAndUserId(orderId, userId)).willReturn(List.of());
+        given(orderMapper.toOrderUserResponses(eq(List.of()), any())).willReturn(List.of());
 
         // when
         Optional<OrderUserResponse> result = userOrderService.getUserOrderById(orderId, email);
@@ -99,43 +121,68 @@ class UserOrderServiceImplTest {
     void getUserOrdersByIds_returnsMappedList() {
         // given
         List<Long> ids = List.of(1L, 2L);
-        Order o1 = org.mockito.Mockito.mock(Order.class);
-        Order o2 = org.mockito.Mockito.mock(Order.class);
+        List<OrderLineProjection> lines = List.of(sampleLine(1L), sampleLine(2L));
 
         OrderUserResponse r1 = new OrderUserResponse(1L, userResponse, OrderStatus.SHIPPED, LocalDateTime.now(), Collections.emptyList());
         OrderUserResponse r2 = new OrderUserResponse(2L, userResponse, OrderStatus.DELIVERED, LocalDateTime.now(), Collections.emptyList());
 
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.findAllByIdInAndUserId(ids, userId)).willReturn(List.of(o1, o2));
-        given(orderMapper.toOrderUserResponse(o1, userResponse)).willReturn(r1);
-        given(orderMapper.toOrderUserResponse(o2, userResponse)).willReturn(r2);
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.findPageLinesByIdInAndUserId(eq(ids), eq(userId), any(), any(), eq(PAGE_SIZE + 1)))
+                .willReturn(lines);
+        given(orderMapper.toOrderUserResponses(eq(lines), any())).willReturn(List.of(r1, r2));
 
         // when
-        List<OrderUserResponse> result = userOrderService.getUserOrdersByIds(ids, email);
+        CursorPageResponse<OrderUserResponse> result = userOrderService.getUserOrdersByIds(ids, email, CursorPageRequest.firstPage());
 
         // then
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactlyInAnyOrder(r1, r2);
+        assertThat(result.content()).containsExactly(r1, r2);
+        assertThat(result.next()).isNull();
     }
 
     @Test
     void getUserOrdersByStatuses_returnsMappedList() {
         // given
         List<OrderStatus> statuses = List.of(OrderStatus.NEW, OrderStatus.PROCESSING);
-        Order o1 = org.mockito.Mockito.mock(Order.class);
+        List<OrderLineProjection> lines = List.of(sampleLine(11L));
 
         OrderUserResponse r1 = new OrderUserResponse(11L, userResponse, OrderStatus.NEW, LocalDateTime.now(), Collections.emptyList());
 
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.findAllByStatusInAndUserId(statuses, userId)).willReturn(List.of(o1));
-        given(orderMapper.toOrderUserResponse(o1, userResponse)).willReturn(r1);
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.findPageLinesByStatusInAndUserId(eq(statuses), eq(userId), any(), any(), eq(PAGE_SIZE + 1)))
+                .willReturn(lines);
+        given(orderMapper.toOrderUserResponses(eq(lines), any())).willReturn(List.of(r1));
 
         // when
-        List<OrderUserResponse> result = userOrderService.getUserOrdersByStatuses(statuses, email);
+        CursorPageResponse<OrderUserResponse> result = userOrderService.getUserOrdersByStatuses(statuses, email, CursorPageRequest.firstPage());
 
         // then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0)).isEqualTo(r1);
+        assertThat(result.content()).containsExactly(r1);
+    }
+
+    @Test
+    void getUserOrders_whenMoreOrdersThanPageSize_returnsPageAndNextCursor() {
+        // given
+        List<OrderLineProjection> lines = new ArrayList<>();
+        for (long orderId = PAGE_SIZE + 1; orderId > 0; orderId--) {
+            lines.add(sampleLine(orderId));
+        }
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.findPageLinesByUserId(eq(userId), any(), eq(Long.MAX_VALUE), eq(PAGE_SIZE + 1)))
+                .willReturn(lines);
+        given(orderMapper.toOrderUserResponses(anyList(), any())).willReturn(List.of());
+
+        // when
+        CursorPageResponse<OrderUserResponse> result = userOrderService.getUserOrders(email, CursorPageRequest.firstPage());
+
+        // then
+        verify(orderMapper).toOrderUserResponses(eq(lines.subList(0, PAGE_SIZE)), any());
+        assertThat(result.next()).isNotNull();
+    }
+
+    private OrderLineProjection sampleLine(Long orderId) {
+        return new OrderLineProjection(orderId, userId, OrderStatus.NEW, LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(orderId),
+                null, null, null, null, null,
+                orderId * 10, 1, 1L, "Item", new BigDecimal("5.00"));
     }
 
     @Test
@@ -145,8 +192,9 @@ class UserOrderServiceImplTest {
         CreateOrderRequest expectedCreate = new CreateOrderRequest(userId, Collections.emptyList());
         OrderUserResponse createdResponse = new OrderUserResponse(999L, userResponse, OrderStatus.NEW, LocalDateTime.now(), Collections.emptyList());
 
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderCreationHelper.createOrderFromRequestAndUser(expectedCreate, userResponse)).willReturn(createdResponse);
+        given(asyncUserApiService.getCurrentUserByEmailAsync(email)).willReturn(CompletableFuture.completedFuture(userResponse));
+        given(orderCreationHelper.findItemsById(incoming)).willReturn(Map.of());
+        given(orderCreationHelper.createOrder(expectedCreate, Map.of(), userResponse)).willReturn(createdResponse);
 
         // when
         OrderUserResponse result = userOrderService.createUserOrder(incoming, email);
@@ -156,29 +204,41 @@ class UserOrderServiceImplTest {
     }
 
     @Test
-    void updateUserOrderStatusById_whenCancelling_setsStatusAndReturnsMapped() {
+    void updateUserOrderStatusById_whenCancelling_updatesStatusAndReturnsMapped() {
         // given
         Long orderId = 55L;
         UpdateOrderStatusRequest cancelRequest = new UpdateOrderStatusRequest(OrderStatus.CANCELLED);
-        Order persistent = org.mockito.Mockito.mock(Order.class);
-        Order saved = org.mockito.Mockito.mock(Order.class);
+        List<OrderLineProjection> lines = List.of(org.mockito.Mockito.mock(OrderLineProjection.class));
         OrderUserResponse mapped = new OrderUserResponse(orderId, userResponse, OrderStatus.CANCELLED, LocalDateTime.now(), Collections.emptyList());
 
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.findByIdAndUserId(orderId, userId)).willReturn(Optional.of(persistent));
-        // simulate save returning updated order instance
-        given(orderRepository.save(persistent)).willReturn(saved);
-        given(orderMapper.toOrderUserResponse(saved, userResponse)).willReturn(mapped);
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.updateStatusByIdAndUserId(orderId, userId, OrderStatus.CANCELLED, OrderStatus.TERMINAL)).willReturn(1);
+        given(orderRepository.findLinesByIdAndUserId(orderId, userId)).willReturn(lines);
+        given(orderMapper.toOrderUserResponses(eq(lines), any())).willReturn(List.of(mapped));
 
         // when
         OrderUserResponse result = userOrderService.updateUserOrderStatusById(orderId, cancelRequest, email);
 
         // then
-        // verify status was set on the persistent entity
-        verify(persistent).setStatus(OrderStatus.CANCELLED);
         assertThat(result).isEqualTo(mapped);
     }
 
+    @Test
+    void updateUserOrderStatusById_whenAlreadyDelivered_throwsOrderStatusConflictException() {
+        // given
+        Long orderId = 56L;
+        UpdateOrderStatusRequest cancelRequest = new UpdateOrderStatusRequest(OrderStatus.CANCELLED);
+
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.updateStatusByIdAndUserId(orderId, userId, OrderStatus.CANCELLED, OrderStatus.TERMINAL)).willReturn(0);
+        given(orderRepository.findStatusByIdAndUserId(orderId, userId)).willReturn(Optional.of(OrderStatus.DELIVERED));
+
+        // when / then
+        Assertions.assertThatThrownBy(() -> userOrderService.updateUserOrderStatusById(orderId, cancelRequest, email))
+                .isInstanceOf(OrderStatusConflictException.class)
+                .hasMessageContaining("DELIVERED");
+    }
+
     @Test
     void updateUserOrderStatusById_whenNonCancelled_throwsStatusModificationIllegalAccessException() {
         // given
@@ -197,8 +257,9 @@ class UserOrderServiceImplTest {
         Long orderId = 77L;
         UpdateOrderStatusRequest cancelRequest = new UpdateOrderStatusRequest(OrderStatus.CANCELLED);
 
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.findByIdAndUserId(orderId, userId)).willReturn(Optional.empty());
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.updateStatusByIdAndUserId(orderId, userId, OrderStatus.CANCELLED, OrderStatus.TERMINAL)).willReturn(0);
+        given(orderRepository.findStatusByIdAndUserId(orderId, userId)).willReturn(Optional.empty());
 
         // when / then
         Assertions.assertThatThrownBy(() -> userOrderService.updateUserOrderStatusById(orderId, cancelRequest, email))
@@ -210,22 +271,22 @@ class UserOrderServiceImplTest {
     void deleteUserOrderById_whenExists_deletesOrder() {
         // given
         Long orderId = 120L;
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.existsByIdAndUserId(orderId, userId)).willReturn(true);
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.deleteOrderByIdAndUserId(orderId, userId)).willReturn(1);
 
         // when
         userOrderService.deleteUserOrderById(orderId, email);
 
         // then
-        verify(orderRepository).deleteById(orderId);
+        verify(orderRepository).deleteOrderByIdAndUserId(orderId, userId);
     }
 
     @Test
     void deleteUserOrderById_whenNotExists_throwsEntityNotFoundException() {
         // given
         Long orderId = 121L;
-        given(userApiService.getUserByEmail(email)).willReturn(userResponse);
-        given(orderRepository.existsByIdAndUserId(orderId, userId)).willReturn(false);
+        given(currentUserService.getUserByEmail(email)).willReturn(userResponse);
+        given(orderRepository.deleteOrderByIdAndUserId(orderId, userId)).willReturn(0);
 
         // when / then
         Assertions.assertThatThrownBy(() -> userOrderService.deleteUserOrderById(orderId, email))
@@ -0,0 +1,78 @@
+package com.intern.orderservice.unit.service;
+
+import com.intern.orderservice.dto.response.UserResponse;
+import com.intern.orderservice.repository.OrderRepository;
+import com.intern.orderservice.service.UserApiService;
+import com.intern.orderservice.service.impl.UserSnapshotServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class UserSnapshotServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private UserApiService userApiService;
+
+    private UserSnapshotServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserSnapshotServiceImpl(orderRepository, userApiService, Duration.ofHours(1), 2);
+    }
+
+    private static UserResponse user(Long id) {
+        return new UserResponse(id, "User" + id, "Test", LocalDate.of(1990, 1, 1), "user" + id + "@example.com");
+    }
+
+    @Test
+    void givenOrdersWithoutSnapshot_whenBackfillSnapshots_thenUpdatesPerUserInKeysetBatches() {
+        given(orderRepository.findUserIdsWithoutUserSnapshot(0L, Limit.of(2))).willReturn(List.of(1L, 2L));
+        given(orderRepository.findUserIdsWithoutUserSnapshot(2L, Limit.of(2))).willReturn(List.of(3L));
+        given(userApiService.getUsersByIds(List.of(1L, 2L))).willReturn(Map.of(1L, user(1L), 2L, user(2L)));
+        given(userApiService.getUsersByIds(List.of(3L))).willReturn(Map.of(3L, user(3L)));
+        given(orderRepository.updateUserSnapshot(anyLong(), any(), any(), any(), any(), any())).willReturn(2);
+
+        int updated = service.backfillSnapshots();
+
+        assertThat(updated).isEqualTo(6);
+        verify(orderRepository).updateUserSnapshot(eq(1L), eq("User1"), eq("Test"), eq("user1@example.com"),
+                eq(LocalDate.of(1990, 1, 1)), any(LocalDateTime.class));
+        verify(orderRepository, times(3)).updateUserSnapshot(anyLong(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void givenUserNoLongerKnown_whenRefreshSnapshots_thenKeepsItsSnapshot() {
+        UserResponse notFound = new UserResponse(null, HttpStatus.NOT_FOUND.toString(), null, null, null);
+        given(orderRepository.findUserIdsWithUserSnapshotTakenBefore(any(LocalDateTime.class), eq(0L), eq(Limit.of(2))))
+                .willReturn(List.of(5L));
+        given(userApiService.getUsersByIds(List.of(5L))).willReturn(Map.of(5L, notFound));
+
+        int updated = service.refreshSnapshots();
+
+        assertThat(updated).isZero();
+        verify(orderRepository, never()).updateUserSnapshot(anyLong(), any(), any(), any(), any(), any());
+    }
+}